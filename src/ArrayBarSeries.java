@@ -0,0 +1,174 @@
+package com.kamilsarelo.csv;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+public class ArrayBarSeries implements BarSeries {
+
+	// fields //////////////////////////////////////////////////////////////////////////////////////
+
+	private final Set<Column> columns;
+
+	// arrays of columns that are not part of the projection stay null
+	long[] time;
+	final double[][] fields = new double[6][]; // fields[1] to fields[5] are open, high, low, close, and volume
+	final int fieldLast; // last field of the projection, no need to scan a line beyond it
+	int size;
+
+	// constructors ////////////////////////////////////////////////////////////////////////////////
+
+	public ArrayBarSeries(
+			final Set<Column> columns,
+			final int capacity) {
+
+		final EnumSet<Column> copy = EnumSet.noneOf(Column.class);
+		copy.addAll(columns);
+		this.columns = Collections.unmodifiableSet(copy);
+
+		int fieldLast = 0;
+		for (final Column column : columns) {
+			if (column == Column.TIME) {
+				time = new long[capacity];
+			} else {
+				fields[column.ordinal()] = new double[capacity];
+			}
+			fieldLast = Math.max(fieldLast, column.ordinal());
+		}
+		this.fieldLast = fieldLast;
+	}
+
+	// methods /////////////////////////////////////////////////////////////////////////////////////
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public Set<Column> columns() {
+		return columns;
+	}
+
+	@Override
+	public long time(
+			final int index) {
+
+		return time[index];
+	}
+
+	@Override
+	public double open(
+			final int index) {
+
+		return fields[1][index];
+	}
+
+	@Override
+	public double high(
+			final int index) {
+
+		return fields[2][index];
+	}
+
+	@Override
+	public double low(
+			final int index) {
+
+		return fields[3][index];
+	}
+
+	@Override
+	public double close(
+			final int index) {
+
+		return fields[4][index];
+	}
+
+	@Override
+	public double volume(
+			final int index) {
+
+		return fields[5][index];
+	}
+
+	public final void add(
+			final Bar bar) {
+
+		final int index = add();
+		if (time != null) {
+			time[index] = bar.time;
+		}
+		set(1, index, bar.open);
+		set(2, index, bar.high);
+		set(3, index, bar.low);
+		set(4, index, bar.close);
+		set(5, index, bar.volume);
+	}
+
+	public final void add(
+			final ArrayBarSeries series) {
+
+		if (!columns.equals(series.columns)) {
+			throw new IllegalArgumentException("columns " + series.columns + " differ from " + columns);
+		}
+		ensureCapacity(size + series.size);
+		if (time != null) {
+			System.arraycopy(series.time, 0, time, size, series.size);
+		}
+		for (int field = 1; field < fields.length; field++) {
+			if (fields[field] != null) {
+				System.arraycopy(series.fields[field], 0, fields[field], size, series.size);
+			}
+		}
+		size += series.size;
+	}
+
+	// helper methods //////////////////////////////////////////////////////////////////////////////
+
+	final int add() {
+		if (size == capacity()) {
+			ensureCapacity(Math.max(16, size + (size >> 1)));
+		}
+		return size++;
+	}
+
+	private final void ensureCapacity(
+			final int capacity) {
+
+		if (capacity > capacity()) {
+			if (time != null) {
+				time = Arrays.copyOf(time, capacity);
+			}
+			for (int field = 1; field < fields.length; field++) {
+				if (fields[field] != null) {
+					fields[field] = Arrays.copyOf(fields[field], capacity);
+				}
+			}
+		}
+	}
+
+	private final int capacity() {
+		if (time != null) {
+			return time.length;
+		}
+		for (int field = 1; field < fields.length; field++) {
+			if (fields[field] != null) {
+				return fields[field].length;
+			}
+		}
+		return Integer.MAX_VALUE; // no columns, nothing to store
+	}
+
+	private final void set(
+			final int field,
+			final int index,
+			final double value) {
+
+		if (fields[field] != null) {
+			fields[field][index] = value;
+		}
+	}
+
+}
@@ -0,0 +1,126 @@
+package com.kamilsarelo.csv;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+public class AsyncBarReader {
+
+	// constants ///////////////////////////////////////////////////////////////////////////////////
+
+	public static final int QUEUE_DEPTH = 8;
+	public static final int BUFFER_SIZE = 1 << 20;
+
+	private static final int BUFFER_SIZE_MAX = (Integer.MAX_VALUE - 8) / 2; // two buffers of carry and range fit in one array
+
+	// constructors ////////////////////////////////////////////////////////////////////////////////
+
+	private AsyncBarReader() {}
+
+	// reading methods /////////////////////////////////////////////////////////////////////////////
+
+	public static final ArrayBarSeries read(
+			final Path path,
+			final Set<Column> columns)
+			throws IOException {
+
+		return read(path, columns, QUEUE_DEPTH, BUFFER_SIZE);
+	}
+
+	public static final ArrayBarSeries read(
+			final Path path,
+			final Set<Column> columns,
+			final int queueDepth,
+			final int bufferSize)
+			throws IOException {
+
+		if (queueDepth < 1 || bufferSize < 1) {
+			throw new IllegalArgumentException("queue depth " + queueDepth + " and buffer size " + bufferSize + " must be positive");
+		}
+		if (bufferSize > BUFFER_SIZE_MAX) {
+			throw new IllegalArgumentException("buffer size " + bufferSize + " must be at most " + BUFFER_SIZE_MAX);
+		}
+
+		try (AsynchronousFileChannel channel = AsynchronousFileChannel.open(path, StandardOpenOption.READ)) {
+			final long size = channel.size();
+			final ArrayBarSeries series = new ArrayBarSeries(columns, (int) Math.min(Integer.MAX_VALUE - 8, Math.max(16, size / BarChunkParser.LINE_LENGTH_MIN)));
+
+			// one direct buffer per outstanding read, each covering the next range of the file
+			final ByteBuffer[] buffers = new ByteBuffer[queueDepth];
+			final long[] positions = new long[queueDepth];
+			final ArrayList<Future<Integer>> futures = new ArrayList<>(queueDepth);
+			long positionNext = 0;
+			for (int slot = 0; slot < queueDepth; slot++) {
+				buffers[slot] = ByteBuffer.allocateDirect(bufferSize);
+				futures.add(null);
+				if (positionNext < size) {
+					positions[slot] = positionNext;
+					futures.set(slot, channel.read(buffers[slot], positionNext));
+					positionNext += bufferSize;
+				}
+			}
+
+			// the ranges complete in any order, but are consumed in file order
+			byte[] bytes = new byte[bufferSize * 2];
+			int carry = 0; // bytes of an incomplete last line from the previous range
+			long positionConsumed = 0;
+			boolean header = true;
+			for (int slot = 0; positionConsumed < size; slot = (slot + 1) % queueDepth) {
+				final ByteBuffer buffer = buffers[slot];
+				final long length = Math.min(bufferSize, size - positions[slot]);
+				int read = futures.get(slot).get();
+				while (read >= 0 && buffer.position() < length) { // rare short read, complete the range
+					read = channel.read(buffer, positions[slot] + buffer.position()).get();
+				}
+				buffer.flip();
+
+				if (carry + buffer.remaining() > bytes.length) {
+					bytes = Arrays.copyOf(bytes, carry + buffer.remaining());
+				}
+				final int count = buffer.remaining();
+				buffer.get(bytes, carry, count);
+				positionConsumed += count;
+
+				// the buffer is free again, so keep the queue full while parsing this range
+				buffer.clear();
+				if (positionNext < size) {
+					positions[slot] = positionNext;
+					futures.set(slot, channel.read(buffer, positionNext));
+					positionNext += bufferSize;
+				}
+
+				final int limit = carry + count;
+				final int end = positionConsumed >= size ? limit : BarChunkParser.lastLineEnd(bytes, limit);
+				int begin = 0;
+				if (header && end > 0) {
+					header = false;
+					begin = BarChunkParser.skipHeader(bytes, end);
+				}
+				BarChunkParser.parse(bytes, begin, end, series);
+
+				carry = limit - end;
+				System.arraycopy(bytes, end, bytes, 0, carry);
+				if (count == 0) {
+					break; // file shrank while reading
+				}
+			}
+			return series;
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IOException(e.getCause());
+		}
+	}
+
+}
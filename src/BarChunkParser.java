@@ -0,0 +1,283 @@
+package com.kamilsarelo.csv;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class BarChunkParser {
+
+	// constants ///////////////////////////////////////////////////////////////////////////////////
+
+	public static final int BUFFER_SIZE = 1 << 20;
+
+	static final int LINE_LENGTH_MIN = 30; // "yyyy.MM.dd HH:mm:ss,o,h,l,c,v\n"
+
+	// constructors ////////////////////////////////////////////////////////////////////////////////
+
+	private BarChunkParser() {}
+
+	// reading methods /////////////////////////////////////////////////////////////////////////////
+
+	public static final ArrayBarSeries read(
+			final Path path,
+			final Set<Column> columns)
+			throws IOException {
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return read(channel, 0, channel.size(), columns);
+		}
+	}
+
+	public static final ArrayBarSeries readParallel(
+			final Path path,
+			final Set<Column> columns,
+			final int threads,
+			final int chunkSize)
+			throws IOException {
+
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			final long[] boundaries = findChunkBoundaries(channel, chunkSize);
+
+			final ArrayList<Future<ArrayBarSeries>> futures = new ArrayList<>(boundaries.length - 1);
+			for (int chunk = 0; chunk < boundaries.length - 1; chunk++) {
+				final long begin = boundaries[chunk];
+				final long end = boundaries[chunk + 1];
+				futures.add(executor.submit(() -> read(channel, begin, end, columns)));
+			}
+
+			final ArrayList<ArrayBarSeries> chunks = new ArrayList<>(futures.size());
+			int size = 0;
+			for (final Future<ArrayBarSeries> future : futures) {
+				chunks.add(future.get());
+				size += chunks.get(chunks.size() - 1).size();
+			}
+
+			// chunks are stitched in file order, so the series stays ordered like the file
+			final ArrayBarSeries series = new ArrayBarSeries(columns, size);
+			for (final ArrayBarSeries chunk : chunks) {
+				series.add(chunk);
+			}
+			return series;
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IOException(e.getCause());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	static final ArrayBarSeries read(
+			final FileChannel channel,
+			final long positionBegin,
+			final long positionEnd,
+			final Set<Column> columns)
+			throws IOException {
+
+		final ArrayBarSeries series = new ArrayBarSeries(columns, (int) Math.min(Integer.MAX_VALUE - 8, Math.max(16, (positionEnd - positionBegin) / LINE_LENGTH_MIN)));
+		final ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BUFFER_SIZE, Math.max(1, positionEnd - positionBegin)));
+		final byte[] bytes = buffer.array();
+
+		long position = positionBegin;
+		boolean header = positionBegin == 0;
+		while (true) {
+			// positional reads, so several chunks can share one channel
+			buffer.limit((int) Math.min(bytes.length, buffer.position() + positionEnd - position));
+			final int read = buffer.hasRemaining() ? channel.read(buffer, position) : 0;
+			final boolean eof = read < 0 || position + Math.max(0, read) >= positionEnd;
+			position += Math.max(0, read);
+			final int limit = buffer.position();
+
+			final int end = eof ? limit : lastLineEnd(bytes, limit);
+			if (end == 0 && !eof) {
+				if (limit == bytes.length) {
+					throw new IOException("line longer than " + bytes.length + " bytes at " + position);
+				}
+				continue;
+			}
+
+			int begin = 0;
+			if (header && limit > 0) {
+				header = false;
+				begin = skipHeader(bytes, end);
+			}
+			parse(bytes, begin, end, series);
+
+			if (eof) {
+				return series;
+			}
+			System.arraycopy(bytes, end, bytes, 0, limit - end);
+			buffer.position(limit - end);
+		}
+	}
+
+	// parsing methods /////////////////////////////////////////////////////////////////////////////
+
+	public static final void parse(
+			final byte[] bytes,
+			final int indexBegin,
+			final int indexEnd,
+			final ArrayBarSeries series) {
+
+		int index = indexBegin;
+		while (index < indexEnd) {
+			if (bytes[index] == 10 || bytes[index] == 13) { // skip blank lines and '\r'
+				index++;
+				continue;
+			}
+			index = parseLine(bytes, index, indexEnd, series);
+		}
+	}
+
+	private static final int parseLine(
+			final byte[] bytes,
+			final int indexBegin,
+			final int indexEnd,
+			final ArrayBarSeries series) {
+
+		final int row = series.add();
+		if (series.time != null) {
+			series.time[row] = CsvReadParsePerformance.toMillisSinceEpoch2(
+					parseBytesToInteger(bytes, indexBegin, indexBegin + 4), // year
+					parseBytesToInteger(bytes, indexBegin + 5, indexBegin + 7), // month
+					parseBytesToInteger(bytes, indexBegin + 8, indexBegin + 10), // date
+					parseBytesToInteger(bytes, indexBegin + 11, indexBegin + 13), // hours
+					parseBytesToInteger(bytes, indexBegin + 14, indexBegin + 16), // minutes
+					parseBytesToInteger(bytes, indexBegin + 17, indexBegin + 19)); // seconds
+		}
+
+		int index = indexBegin + 20;
+		for (int field = 1; field < series.fields.length; field++) {
+			final double[] column = series.fields[field];
+			if (column == null) {
+				while (index < indexEnd && bytes[index] != 44 && bytes[index] != 10 && bytes[index] != 13) { // ',', '\n', and '\r' in ASCII
+					index++;
+				}
+			} else {
+				long dividend = 0;
+				int indexOfDelimeter = -1;
+				for (; index < indexEnd; index++) {
+					final byte character = bytes[index];
+					if (character == 44 || character == 10 || character == 13) { // ',', '\n', and '\r' in ASCII
+						break;
+					}
+					if (character == 46) { // '.' is 46 in ASCII
+						indexOfDelimeter = index;
+						continue;
+					}
+					dividend = (dividend << 1) + (dividend << 3) + (character - 48); // numbers start at 48 in ASCII
+				}
+				column[row] = indexOfDelimeter < 0 ? dividend : dividend / CsvReadParsePerformance.powerOfTen(index - indexOfDelimeter - 1);
+			}
+			index++; // skip ',' or '\n'
+		}
+		return index;
+	}
+
+	private static final int parseBytesToInteger(
+			final byte[] bytes,
+			final int indexBegin,
+			final int indexEnd) {
+
+		int number = 0;
+		for (int index = indexBegin; index < indexEnd; index++) {
+			number = (number << 1) + (number << 3) + bytes[index] - 48; // numbers start at 48 in ASCII
+		}
+		return number;
+	}
+
+	// helper methods //////////////////////////////////////////////////////////////////////////////
+
+	static final int lastLineEnd(
+			final byte[] bytes,
+			final int limit) {
+
+		int end = limit;
+		while (end > 0 && bytes[end - 1] != 10) { // '\n' is 10 in ASCII
+			end--;
+		}
+		return end;
+	}
+
+	static final int skipHeader(
+			final byte[] bytes,
+			final int end) {
+
+		if (end == 0 || (bytes[0] >= 48 && bytes[0] <= 57)) { // first line is data already
+			return 0;
+		}
+		int index = 0;
+		while (index < end && bytes[index] != 10) { // skip first line with column headers
+			index++;
+		}
+		return Math.min(end, index + 1);
+	}
+
+	static final boolean isHeader(
+			final String line) {
+
+		// the same rule as skipHeader() for lines as returned by read1() to read4()
+		return line.isEmpty() || line.charAt(0) < 48 || line.charAt(0) > 57;
+	}
+
+	static final long[] findChunkBoundaries(
+			final FileChannel channel,
+			final long chunkSize)
+			throws IOException {
+
+		return findChunkBoundaries(channel, 0, channel.size(), chunkSize);
+	}
+
+	static final long[] findChunkBoundaries(
+			final FileChannel channel,
+			final long positionBegin,
+			final long positionEnd,
+			final long chunkSize)
+			throws IOException {
+
+		final ArrayList<Long> boundaries = new ArrayList<>();
+		boundaries.add(positionBegin);
+
+		// every chunk begins right after a '\n', so no line is split between two chunks
+		final ByteBuffer buffer = ByteBuffer.allocate(256);
+		long position = positionBegin + chunkSize;
+		while (position < positionEnd) {
+			buffer.clear();
+			channel.read(buffer, position);
+			int index = 0;
+			while (index < buffer.position() && buffer.get(index) != 10) {
+				index++;
+			}
+			if (index == buffer.position()) {
+				position += buffer.position(); // no line end within the window, keep looking
+				continue;
+			}
+			position += index + 1;
+			if (position < positionEnd) {
+				boundaries.add(position);
+			}
+			position += chunkSize;
+		}
+		boundaries.add(positionEnd);
+
+		final long[] array = new long[boundaries.size()];
+		for (int index = 0; index < array.length; index++) {
+			array[index] = boundaries.get(index);
+		}
+		return array;
+	}
+
+}
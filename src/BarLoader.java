@@ -0,0 +1,378 @@
+package com.kamilsarelo.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Properties;
+import java.util.Set;
+import java.util.logging.Logger;
+
+public class BarLoader {
+
+	// types ///////////////////////////////////////////////////////////////////////////////////////
+
+	public enum Mode {
+		READ4_PARSE10, // String lines and Bar objects
+		READ4_PARSE11, // String lines and primitive columns
+		BYTES, // byte buffer and primitive columns, single-threaded
+		BYTES_PARALLEL, // byte buffers and primitive columns, one chunk per task
+	}
+
+	public static final class Strategy {
+
+		public final Mode mode;
+		public final int threads;
+		public final int chunkSize;
+
+		public Strategy(
+				final Mode mode,
+				final int threads,
+				final int chunkSize) {
+
+			this.mode = mode;
+			this.threads = threads;
+			this.chunkSize = chunkSize;
+		}
+
+		public static final Strategy valueOf(
+				final String string) {
+
+			final String[] strings = string.split(":", -1);
+			return new Strategy(Mode.valueOf(strings[0]), Integer.parseInt(strings[1]), Integer.parseInt(strings[2]));
+		}
+
+		@Override
+		public boolean equals(
+				final Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof Strategy)) {
+				return false;
+			}
+
+			final Strategy other = (Strategy) obj;
+			return mode == other.mode
+					&& threads == other.threads
+					&& chunkSize == other.chunkSize;
+		}
+
+		@Override
+		public int hashCode() {
+			return (mode.hashCode() * 31 + threads) * 31 + chunkSize;
+		}
+
+		@Override
+		public String toString() {
+			return mode + ":" + threads + ":" + chunkSize;
+		}
+
+	}
+
+	// constants ///////////////////////////////////////////////////////////////////////////////////
+
+	private static final Logger LOGGER = Logger.getLogger(BarLoader.class.getName());
+
+	private static final Path CALIBRATION_FILE = Path.of(
+			System.getProperty("user.home"),
+			".csv-read-parse-calibration.properties");
+
+	private static final int SAMPLE_SIZE = 32 << 20; // about 1.5 years of 1-minute bars
+	private static final int SAMPLE_SIZE_MIN = 4 << 20; // smaller files load too fast to tell the strategies apart
+	private static final Strategy STRATEGY_UNCALIBRATED = new Strategy(Mode.BYTES, 1, 0);
+	private static final String HOST = host(); // may take a DNS lookup, so only once
+	private static final int PASSES_WARM_UP = 2;
+	private static final int PASSES_MEASURED = 3;
+
+	// fields //////////////////////////////////////////////////////////////////////////////////////
+
+	private static volatile Strategy strategy;
+	private static volatile boolean calibrationRead; // without a strategy for this host
+
+	// constructors ////////////////////////////////////////////////////////////////////////////////
+
+	private BarLoader() {}
+
+	// loading methods /////////////////////////////////////////////////////////////////////////////
+
+	public static final BarSeries load(
+			final Path path)
+			throws IOException {
+
+		return load(path, CALIBRATION_FILE);
+	}
+
+	static final BarSeries load(
+			final Path path,
+			final Path calibrationFile)
+			throws IOException {
+
+		Strategy strategy = BarLoader.strategy;
+		if (strategy == null) {
+			// the calibration file is read once, after that only a file large enough to calibrate on takes the lock
+			if (!calibrationRead || Files.size(path) >= SAMPLE_SIZE_MIN) {
+				synchronized (BarLoader.class) {
+					if (BarLoader.strategy == null) {
+						BarLoader.strategy = strategy(path, calibrationFile);
+						calibrationRead = true;
+					}
+					strategy = BarLoader.strategy;
+				}
+			}
+
+			if (strategy == null) {
+				strategy = STRATEGY_UNCALIBRATED;
+			}
+		}
+		return load(path, strategy);
+	}
+
+	public static final ArrayBarSeries load(
+			final Path path,
+			final Strategy strategy)
+			throws IOException {
+
+		switch (strategy.mode) {
+			case READ4_PARSE10:
+			case READ4_PARSE11: {
+				final List<String> lines = CsvReadParsePerformance.read4(path);
+				final ArrayBarSeries series = new ArrayBarSeries(Column.ALL, lines.size());
+				final int[] lineIndeces = new int[10];
+				final ListIterator<String> linesIterator = lines.listIterator();
+				if (linesIterator.hasNext() && BarChunkParser.isHeader(lines.get(0))) {
+					linesIterator.next(); // same header rule as the byte modes, so all strategies load the same bars
+				}
+				try {
+					while (linesIterator.hasNext()) {
+						final String line = linesIterator.next();
+						if (line.isBlank()) {
+							continue;
+						}
+						if (strategy.mode == Mode.READ4_PARSE10) {
+							series.add(CsvReadParsePerformance.parse10(line, lineIndeces));
+						} else {
+							CsvReadParsePerformance.parse11(line, series);
+						}
+					}
+				} catch (final ParseException e) {
+					throw new IOException(e);
+				}
+				return series;
+			}
+			case BYTES:
+				return BarChunkParser.read(path, Column.ALL);
+			case BYTES_PARALLEL:
+				return BarChunkParser.readParallel(path, Column.ALL, strategy.threads, strategy.chunkSize);
+			default:
+				throw new IllegalArgumentException("unknown mode " + strategy.mode);
+		}
+	}
+
+	public static final ArrayBarSeries load(
+			final Path path,
+			final ParseErrors errors)
+			throws IOException, ParseException {
+
+		final List<String> lines = CsvReadParsePerformance.read4(path);
+		final ArrayBarSeries series = new ArrayBarSeries(Column.ALL, lines.size());
+		final int[] lineIndeces = new int[10];
+
+		// byte offsets assume '\n' as line end and ASCII characters, like the files at hand
+		long lineNumber = 0;
+		long byteOffset = 0;
+		for (final ListIterator<String> linesIterator = lines.listIterator(); linesIterator.hasNext();) {
+			final String line = linesIterator.next();
+			lineNumber++;
+			if (!(lineNumber == 1 && BarChunkParser.isHeader(line)) && !line.isBlank()) {
+				final Bar bar = CsvReadParsePerformance.parse12(line, lineIndeces, lineNumber, byteOffset, errors);
+				if (bar != null) {
+					series.add(bar);
+				}
+			}
+			byteOffset += line.length() + 1;
+		}
+		return series;
+	}
+
+	public static final SpillingBarSeries load(
+			final Path[] paths,
+			final Set<Column> columns,
+			final long memoryBudget)
+			throws IOException {
+
+		final SpillingBarSeries series = new SpillingBarSeries(columns, memoryBudget);
+		try {
+			// one buffer-sized range at a time, so only the budget and a single range are on the heap
+			for (final Path path : paths) {
+				try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+					final long[] boundaries = BarChunkParser.findChunkBoundaries(channel, BarChunkParser.BUFFER_SIZE);
+					for (int chunk = 0; chunk < boundaries.length - 1; chunk++) {
+						series.add(BarChunkParser.read(channel, boundaries[chunk], boundaries[chunk + 1], columns));
+					}
+				}
+			}
+		} catch (final IOException | RuntimeException e) {
+			series.close();
+			throw e;
+		}
+		LOGGER.info("loaded " + series.size() + " bars, spilled " + (series.spilledBytes() >> 20) + " MB in " + series.spillNanos() / 1_000_000 + " ms");
+		return series;
+	}
+
+	// calibration methods /////////////////////////////////////////////////////////////////////////
+
+	static final Strategy strategy(
+			final Path path,
+			final Path calibrationFile)
+			throws IOException {
+
+		// a calibration on a tiny file is noise, but it would be kept for this host for good
+		Strategy strategy = readCalibration(calibrationFile);
+		if (strategy == null && Files.size(path) >= SAMPLE_SIZE_MIN) {
+			strategy = calibrate(path);
+			writeCalibration(calibrationFile, strategy);
+		}
+		return strategy;
+	}
+
+	public static final Strategy calibrate(
+			final Path path)
+			throws IOException {
+
+		final Path sample = writeSample(path);
+		try {
+			Strategy strategyBest = null;
+			long nanosBest = Long.MAX_VALUE;
+			for (final Strategy strategy : candidates()) {
+				for (int pass = 0; pass < PASSES_WARM_UP; pass++) {
+					load(sample, strategy);
+				}
+				long nanos = Long.MAX_VALUE;
+				for (int pass = 0; pass < PASSES_MEASURED; pass++) {
+					final long timeBegin = System.nanoTime();
+					load(sample, strategy);
+					nanos = Math.min(nanos, System.nanoTime() - timeBegin);
+				}
+				LOGGER.fine("calibrated " + strategy + " at " + nanos / 1_000 + " us");
+				if (nanos < nanosBest) {
+					nanosBest = nanos;
+					strategyBest = strategy;
+				}
+			}
+			LOGGER.info("calibrated " + strategyBest + " as fastest strategy on " + HOST);
+			return strategyBest;
+		} finally {
+			Files.deleteIfExists(sample);
+		}
+	}
+
+	static final List<Strategy> candidates() {
+		final ArrayList<Strategy> candidates = new ArrayList<>();
+		candidates.add(new Strategy(Mode.READ4_PARSE10, 1, 0));
+		candidates.add(new Strategy(Mode.READ4_PARSE11, 1, 0));
+		candidates.add(new Strategy(Mode.BYTES, 1, 0));
+
+		final int processors = Runtime.getRuntime().availableProcessors();
+		if (processors > 1) {
+			for (int threads = 2;; threads = Math.min(threads << 1, processors)) { // powers of two and all processors
+				for (int chunkSize = 1 << 20; chunkSize <= 8 << 20; chunkSize <<= 1) {
+					candidates.add(new Strategy(Mode.BYTES_PARALLEL, threads, chunkSize));
+				}
+				if (threads == processors) {
+					break;
+				}
+			}
+		}
+		return candidates;
+	}
+
+	// helper methods //////////////////////////////////////////////////////////////////////////////
+
+	private static final Path writeSample(
+			final Path path)
+			throws IOException {
+
+		// a prefix of the real file that ends at a line end, so the sample keeps the header and real lines
+		final Path sample = Files.createTempFile("calibration", ".csv");
+		try (FileChannel channelIn = FileChannel.open(path, StandardOpenOption.READ);
+				FileChannel channelOut = FileChannel.open(sample, StandardOpenOption.WRITE)) {
+			final ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(SAMPLE_SIZE, channelIn.size()));
+			int read = 0;
+			while (buffer.hasRemaining() && read >= 0) {
+				read = channelIn.read(buffer);
+			}
+			final int end = buffer.position() == channelIn.size()
+					? buffer.position()
+					: BarChunkParser.lastLineEnd(buffer.array(), buffer.position());
+			buffer.position(0).limit(end);
+			while (buffer.hasRemaining()) {
+				channelOut.write(buffer);
+			}
+		}
+		return sample;
+	}
+
+	private static final String host() {
+		String host;
+		try {
+			host = InetAddress.getLocalHost().getHostName();
+		} catch (final IOException e) {
+			host = System.getenv().getOrDefault("HOSTNAME", "localhost");
+		}
+
+		// a different JDK or number of cores on the same host calls for another calibration
+		return host
+				+ "/" + Runtime.getRuntime().availableProcessors()
+				+ "/" + System.getProperty("java.version");
+	}
+
+	static final Strategy readCalibration(
+			final Path calibrationFile) {
+
+		if (!Files.isRegularFile(calibrationFile)) {
+			return null;
+		}
+		try (InputStream inputStream = Files.newInputStream(calibrationFile)) {
+			final Properties properties = new Properties();
+			properties.load(inputStream);
+			final String string = properties.getProperty(HOST);
+			return string == null ? null : Strategy.valueOf(string);
+		} catch (final Throwable t) {
+			t.printStackTrace();
+		}
+		return null;
+	}
+
+	static final void writeCalibration(
+			final Path calibrationFile,
+			final Strategy strategy) {
+
+		try {
+			final Properties properties = new Properties();
+			if (Files.isRegularFile(calibrationFile)) {
+				try (InputStream inputStream = Files.newInputStream(calibrationFile)) {
+					properties.load(inputStream);
+				}
+			}
+			properties.setProperty(HOST, strategy.toString());
+			try (OutputStream outputStream = Files.newOutputStream(calibrationFile)) {
+				properties.store(outputStream, "fastest read/parse strategy per host/cores/JDK");
+			}
+		} catch (final Throwable t) {
+			t.printStackTrace();
+		}
+	}
+
+}
@@ -0,0 +1,93 @@
+package com.kamilsarelo.csv;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import com.kamilsarelo.csv.BarLoader.Strategy;
+
+public class BarLoaderTest {
+
+	// fields //////////////////////////////////////////////////////////////////////////////////////
+
+	private Path directory;
+
+	// set up and tear down methods ////////////////////////////////////////////////////////////////
+
+	@Before
+	public final void setUp() throws Exception {
+		directory = Files.createTempDirectory("loader");
+	}
+
+	@After
+	public final void tearDown() throws Exception {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	// test methods ////////////////////////////////////////////////////////////////////////////////
+
+	@Test
+	public final void testStrategyValueOf() {
+		for (final Strategy strategy : BarLoader.candidates()) {
+			assertEquals(strategy, Strategy.valueOf(strategy.toString()));
+		}
+		assertEquals(new Strategy(BarLoader.Mode.BYTES_PARALLEL, 4, 2 << 20), Strategy.valueOf("BYTES_PARALLEL:4:2097152"));
+	}
+
+	@Test
+	public final void testCalibratePersistReload() throws Exception {
+		// entries of other hosts sharing the file are kept
+		final Path calibrationFile = directory.resolve("calibration.properties");
+		Files.writeString(calibrationFile, "other-host=BYTES\\:1\\:0\n");
+
+		final Strategy strategy = BarLoader.strategy(Constants.PATHS[0], calibrationFile);
+		assertNotNull(strategy);
+		assertEquals(strategy, BarLoader.readCalibration(calibrationFile));
+		assertEquals(strategy, BarLoader.strategy(Constants.PATHS[0], calibrationFile));
+
+		final Properties properties = new Properties();
+		try (InputStream inputStream = Files.newInputStream(calibrationFile)) {
+			properties.load(inputStream);
+		}
+		assertEquals(2, properties.size());
+		assertEquals("BYTES:1:0", properties.getProperty("other-host"));
+	}
+
+	@Test
+	public final void testLoadSmallFile() throws Exception {
+		// too small to calibrate on, so it loads uncalibrated and leaves no calibration behind
+		final List<String> lines = Files.readAllLines(Constants.PATHS[0]);
+		final Path path = directory.resolve("small.csv");
+		Files.write(path, lines.subList(0, 1000));
+		final Path calibrationFile = directory.resolve("calibration.properties");
+
+		assertNull(BarLoader.strategy(path, calibrationFile));
+		final ArrayBarSeries expected = BarChunkParser.read(path, Column.ALL);
+		for (int pass = 0; pass < 2; pass++) {
+			final BarSeries actual = BarLoader.load(path, calibrationFile);
+			assertEquals(expected.size(), actual.size());
+			for (int index = 0; index < expected.size(); index++) {
+				assertEquals(expected.time(index), actual.time(index));
+				assertEquals(expected.open(index), actual.open(index), 0);
+				assertEquals(expected.high(index), actual.high(index), 0);
+				assertEquals(expected.low(index), actual.low(index), 0);
+				assertEquals(expected.close(index), actual.close(index), 0);
+				assertEquals(expected.volume(index), actual.volume(index), 0);
+			}
+		}
+		assertFalse(Files.exists(calibrationFile));
+	}
+
+}
@@ -0,0 +1,160 @@
+package com.kamilsarelo.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+public class BarMerger implements Iterator<Bar>, Closeable {
+
+	// types ///////////////////////////////////////////////////////////////////////////////////////
+
+	public enum DuplicatePolicy {
+		FIRST_WINS, // keep the bar of the source that was passed first
+		LAST_WINS, // keep the bar of the source that was passed last
+		ERROR, // fail on two different bars with the same time
+	}
+
+	private static final class Head {
+
+		private final int source;
+		private final Iterator<Bar> iterator;
+		private Bar bar;
+
+		private Head(
+				final int source,
+				final Iterator<Bar> iterator) {
+
+			this.source = source;
+			this.iterator = iterator;
+		}
+
+	}
+
+	// fields //////////////////////////////////////////////////////////////////////////////////////
+
+	private final DuplicatePolicy policy;
+	private final List<? extends Iterator<Bar>> sources;
+	private final PriorityQueue<Head> heads;
+
+	// constructors ////////////////////////////////////////////////////////////////////////////////
+
+	public BarMerger(
+			final DuplicatePolicy policy,
+			final List<? extends Iterator<Bar>> sources) {
+
+		this.policy = policy;
+		this.sources = sources;
+
+		// one buffered head per source, ordered by time and then by the order of the sources
+		heads = new PriorityQueue<>(Math.max(1, sources.size()), (head1, head2) -> {
+			final int compare = Long.compare(head1.bar.time, head2.bar.time);
+			return compare != 0 ? compare : Integer.compare(head1.source, head2.source);
+		});
+		for (int source = 0; source < sources.size(); source++) {
+			advance(new Head(source, sources.get(source)));
+		}
+	}
+
+	// factory methods /////////////////////////////////////////////////////////////////////////////
+
+	public static final BarMerger open(
+			final DuplicatePolicy policy,
+			final Path... paths)
+			throws IOException {
+
+		// an unsorted source or a malformed first line fails after other readers are open already
+		final ArrayList<BarReader> readers = new ArrayList<>(paths.length);
+		try {
+			for (final Path path : paths) {
+				readers.add(new BarReader(path));
+			}
+			return new BarMerger(policy, readers);
+		} catch (final IOException | RuntimeException e) {
+			for (final BarReader reader : readers) {
+				try {
+					reader.close();
+				} catch (final IOException eClose) {
+					e.addSuppressed(eClose);
+				}
+			}
+			throw e;
+		}
+	}
+
+	// methods /////////////////////////////////////////////////////////////////////////////////////
+
+	@Override
+	public boolean hasNext() {
+		return !heads.isEmpty();
+	}
+
+	@Override
+	public Bar next() {
+		final Head head = heads.poll();
+		if (head == null) {
+			throw new NoSuchElementException();
+		}
+
+		Bar bar = head.bar;
+		advance(head);
+
+		// all bars with the same time are at the top of the heap now, in the order of the sources
+		while (!heads.isEmpty() && heads.peek().bar.time == bar.time) {
+			final Head duplicate = heads.poll();
+			switch (policy) {
+				case FIRST_WINS:
+					break;
+				case LAST_WINS:
+					bar = duplicate.bar;
+					break;
+				case ERROR:
+					if (!bar.equals(duplicate.bar)) { // identical bars of overlapping files are no conflict
+						throw new IllegalStateException("conflicting bars at "
+								+ bar.time + " in source " + duplicate.source);
+					}
+					break;
+			}
+			advance(duplicate);
+		}
+		return bar;
+	}
+
+	@Override
+	public void close() throws IOException {
+		IOException exception = null;
+		for (final Iterator<Bar> source : sources) {
+			if (source instanceof Closeable) {
+				try {
+					((Closeable) source).close();
+				} catch (final IOException e) {
+					exception = e;
+				}
+			}
+		}
+		if (exception != null) {
+			throw exception;
+		}
+	}
+
+	// helper methods //////////////////////////////////////////////////////////////////////////////
+
+	private final void advance(
+			final Head head) {
+
+		if (!head.iterator.hasNext()) {
+			return;
+		}
+		final Bar bar = head.iterator.next();
+		if (head.bar != null && bar.time < head.bar.time) {
+			throw new IllegalStateException("source " + head.source + " is not sorted by time at " + bar.time);
+		}
+		head.bar = bar;
+		heads.add(head);
+	}
+
+}
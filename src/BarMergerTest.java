@@ -0,0 +1,124 @@
+package com.kamilsarelo.csv;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Test;
+
+public class BarMergerTest {
+
+	// helper methods //////////////////////////////////////////////////////////////////////////////
+
+	private static final Bar bar(
+			final long time,
+			final double close) {
+
+		return new Bar(time, close, close, close, close, 1);
+	}
+
+	private static final List<Bar> merge(
+			final BarMerger.DuplicatePolicy policy,
+			final List<List<Bar>> sources) {
+
+		final ArrayList<Iterator<Bar>> iterators = new ArrayList<>();
+		for (final List<Bar> source : sources) {
+			iterators.add(source.iterator());
+		}
+
+		final ArrayList<Bar> bars = new ArrayList<>();
+		final BarMerger merger = new BarMerger(policy, iterators);
+		while (merger.hasNext()) {
+			bars.add(merger.next());
+		}
+		return bars;
+	}
+
+	// test methods ////////////////////////////////////////////////////////////////////////////////
+
+	@Test
+	public final void testMergeOrdersByTime() {
+		final List<Bar> bars = merge(BarMerger.DuplicatePolicy.ERROR, Arrays.asList(
+				Arrays.asList(bar(1, 1), bar(4, 4), bar(6, 6)),
+				Arrays.asList(bar(2, 2), bar(3, 3)),
+				Arrays.asList(),
+				Arrays.asList(bar(5, 5))));
+
+		assertEquals(Arrays.asList(bar(1, 1), bar(2, 2), bar(3, 3), bar(4, 4), bar(5, 5), bar(6, 6)), bars);
+	}
+
+	@Test
+	public final void testMergeFirstWins() {
+		final List<Bar> bars = merge(BarMerger.DuplicatePolicy.FIRST_WINS, Arrays.asList(
+				Arrays.asList(bar(1, 1), bar(2, 2)),
+				Arrays.asList(bar(2, 20), bar(3, 30))));
+
+		assertEquals(Arrays.asList(bar(1, 1), bar(2, 2), bar(3, 30)), bars);
+	}
+
+	@Test
+	public final void testMergeLastWins() {
+		final List<Bar> bars = merge(BarMerger.DuplicatePolicy.LAST_WINS, Arrays.asList(
+				Arrays.asList(bar(1, 1), bar(2, 2)),
+				Arrays.asList(bar(2, 20), bar(3, 30))));
+
+		assertEquals(Arrays.asList(bar(1, 1), bar(2, 20), bar(3, 30)), bars);
+	}
+
+	@Test
+	public final void testMergeErrorIgnoresIdenticalBars() {
+		final List<Bar> bars = merge(BarMerger.DuplicatePolicy.ERROR, Arrays.asList(
+				Arrays.asList(bar(1, 1), bar(2, 2)),
+				Arrays.asList(bar(2, 2), bar(3, 3))));
+
+		assertEquals(Arrays.asList(bar(1, 1), bar(2, 2), bar(3, 3)), bars);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public final void testMergeErrorOnConflictingBars() {
+		merge(BarMerger.DuplicatePolicy.ERROR, Arrays.asList(
+				Arrays.asList(bar(1, 1), bar(2, 2)),
+				Arrays.asList(bar(2, 20))));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public final void testMergeUnsortedSource() {
+		merge(BarMerger.DuplicatePolicy.FIRST_WINS, Arrays.asList(
+				Arrays.asList(bar(2, 2), bar(1, 1))));
+	}
+
+	@Test
+	public final void testMergeFilesWithoutHeader() throws Exception {
+		// a first line starting with a digit is a bar, like in BarLoader
+		final Path pathHeader = Files.createTempFile("bars", ".csv");
+		final Path pathNoHeader = Files.createTempFile("bars", ".csv");
+		try {
+			Files.write(pathHeader, Arrays.asList("Gmt time,Open,High,Low,Close,Volume", "2005.01.03 00:01:00,1.5,1.5,1.5,1.5,1"));
+			Files.write(pathNoHeader, Arrays.asList("2005.01.03 00:00:00,2.5,2.5,2.5,2.5,1", "2005.01.03 00:02:00,3.5,3.5,3.5,3.5,1"));
+
+			final ArrayList<Bar> bars = new ArrayList<>();
+			try (BarMerger merger = BarMerger.open(BarMerger.DuplicatePolicy.ERROR, pathHeader, pathNoHeader)) {
+				while (merger.hasNext()) {
+					bars.add(merger.next());
+				}
+			}
+			assertEquals(3, bars.size());
+			assertEquals(2.5, bars.get(0).close, 0);
+			assertEquals(1.5, bars.get(1).close, 0);
+			assertEquals(3.5, bars.get(2).close, 0);
+		} finally {
+			Files.delete(pathHeader);
+			Files.delete(pathNoHeader);
+		}
+	}
+
+	@Test
+	public final void testMergeEmpty() {
+		assertFalse(new BarMerger(BarMerger.DuplicatePolicy.FIRST_WINS, Arrays.asList()).hasNext());
+	}
+
+}
@@ -0,0 +1,173 @@
+package com.kamilsarelo.csv;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BarPublisher implements Flow.Publisher<ArrayBarSeries> {
+
+	// types ///////////////////////////////////////////////////////////////////////////////////////
+
+	private final class BarSubscription implements Flow.Subscription, Runnable {
+
+		private final Flow.Subscriber<? super ArrayBarSeries> subscriber;
+		private final AtomicLong demand = new AtomicLong(); // requested but not yet emitted batches
+		private final AtomicInteger work = new AtomicInteger(); // signals to drain, only one drain runs at a time
+		private volatile boolean cancelled;
+		private volatile Throwable error;
+
+		// only accessed by the draining thread
+		private BufferedReader bufferedReader;
+		private String line; // next line to parse, read ahead to complete without further demand
+		private boolean done;
+
+		private BarSubscription(
+				final Flow.Subscriber<? super ArrayBarSeries> subscriber) {
+
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void request(
+				final long n) {
+
+			if (n <= 0) {
+				error = new IllegalArgumentException("non-positive request " + n);
+			} else {
+				demand.accumulateAndGet(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+			}
+			drain();
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			drain(); // closes the file on the draining thread
+		}
+
+		@Override
+		public void run() {
+			int missed = 1;
+			do {
+				if (!done) {
+					try {
+						emit();
+					} catch (final Throwable t) {
+						finish();
+						subscriber.onError(t);
+					}
+				}
+				missed = work.addAndGet(-missed);
+			} while (missed != 0);
+		}
+
+		private final void drain() {
+			if (work.getAndIncrement() == 0) {
+				executor.execute(this);
+			}
+		}
+
+		private final void emit() throws Throwable {
+			if (cancelled) {
+				finish();
+				return;
+			}
+			if (error != null) {
+				throw error;
+			}
+
+			if (bufferedReader == null) {
+				bufferedReader = new BufferedReader(new FileReader(path.toFile()));
+				line = bufferedReader.readLine();
+				if (line != null && BarChunkParser.isHeader(line)) { // the same header rule as BarLoader
+					line = bufferedReader.readLine();
+				}
+			}
+
+			// no demand means no reading, the file stays untouched until the next request
+			while (line != null && demand.get() > 0 && !cancelled) {
+				final ArrayBarSeries batch = new ArrayBarSeries(columns, batchSize);
+				while (line != null && batch.size() < batchSize) {
+					if (!line.isBlank()) {
+						CsvReadParsePerformance.parse11(line, batch);
+					}
+					line = bufferedReader.readLine();
+				}
+				if (batch.size() > 0) {
+					demand.decrementAndGet();
+					subscriber.onNext(batch);
+				}
+			}
+
+			if (line == null && !cancelled) {
+				finish();
+				subscriber.onComplete();
+			} else if (cancelled) {
+				finish();
+			}
+		}
+
+		private final void finish() {
+			done = true;
+			if (bufferedReader != null) {
+				try {
+					bufferedReader.close();
+				} catch (final IOException e) {
+					e.printStackTrace();
+				}
+				bufferedReader = null;
+			}
+		}
+
+	}
+
+	// fields //////////////////////////////////////////////////////////////////////////////////////
+
+	private final Path path;
+	private final Set<Column> columns;
+	private final int batchSize;
+	private final Executor executor;
+
+	// constructors ////////////////////////////////////////////////////////////////////////////////
+
+	public BarPublisher(
+			final Path path,
+			final Set<Column> columns,
+			final int batchSize) {
+
+		this(path, columns, batchSize, ForkJoinPool.commonPool());
+	}
+
+	public BarPublisher(
+			final Path path,
+			final Set<Column> columns,
+			final int batchSize,
+			final Executor executor) {
+
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("batch size must be positive: " + batchSize);
+		}
+		this.path = path;
+		this.columns = columns;
+		this.batchSize = batchSize;
+		this.executor = executor;
+	}
+
+	// methods /////////////////////////////////////////////////////////////////////////////////////
+
+	@Override
+	public void subscribe(
+			final Flow.Subscriber<? super ArrayBarSeries> subscriber) {
+
+		// every subscriber reads the file on its own and at its own speed
+		subscriber.onSubscribe(new BarSubscription(subscriber));
+	}
+
+}
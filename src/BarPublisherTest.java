@@ -0,0 +1,182 @@
+package com.kamilsarelo.csv;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class BarPublisherTest {
+
+	// types ///////////////////////////////////////////////////////////////////////////////////////
+
+	private static final class RecordingSubscriber implements Flow.Subscriber<ArrayBarSeries> {
+
+		private final List<ArrayBarSeries> batches = Collections.synchronizedList(new ArrayList<>());
+		private final int requestPerBatch;
+		private final AtomicInteger signalling = new AtomicInteger(); // more than 1 while signals overlap
+		private final CountDownLatch terminated = new CountDownLatch(1);
+		private volatile Flow.Subscription subscription;
+		private volatile boolean completed;
+		private volatile boolean overlapped;
+
+		private RecordingSubscriber(
+				final int requestPerBatch) {
+
+			this.requestPerBatch = requestPerBatch;
+		}
+
+		@Override
+		public void onSubscribe(
+				final Flow.Subscription subscription) {
+
+			this.subscription = subscription;
+		}
+
+		@Override
+		public void onNext(
+				final ArrayBarSeries batch) {
+
+			overlapped |= signalling.incrementAndGet() > 1;
+			batches.add(batch);
+			if (requestPerBatch > 0) {
+				subscription.request(requestPerBatch);
+			}
+			signalling.decrementAndGet();
+		}
+
+		@Override
+		public void onError(
+				final Throwable throwable) {
+
+			throwable.printStackTrace();
+			terminated.countDown();
+		}
+
+		@Override
+		public void onComplete() {
+			overlapped |= signalling.incrementAndGet() > 1;
+			completed = true;
+			signalling.decrementAndGet();
+			terminated.countDown();
+		}
+
+	}
+
+	// fields //////////////////////////////////////////////////////////////////////////////////////
+
+	private static Path path;
+
+	// test methods ////////////////////////////////////////////////////////////////////////////////
+
+	@BeforeClass
+	public static final void setUp() throws Exception {
+		path = Files.createTempFile("bars", ".csv");
+		Files.write(path, Arrays.asList(
+				"Gmt time,Open,High,Low,Close,Volume",
+				"2015.01.05 20:14:00,1.1942,1.19428,1.1942,1.19425,31.57",
+				"2015.01.05 20:15:00,1.19423,1.19429,1.19422,1.19429,53.1",
+				"2015.01.05 20:16:00,1.19429,1.19429,1.19422,1.19422,18.07",
+				"2015.01.05 20:17:00,1.19422,1.19437,1.19419,1.19431,21.3",
+				"2015.01.05 20:18:00,1.19431,1.19433,1.19425,1.19426,9.9"));
+	}
+
+	@AfterClass
+	public static final void tearDown() throws Exception {
+		Files.deleteIfExists(path);
+	}
+
+	@Test
+	public final void testPublishHonorsDemand() {
+		final RecordingSubscriber subscriber = new RecordingSubscriber(0);
+		new BarPublisher(path, EnumSet.of(Column.TIME, Column.CLOSE), 2, Runnable::run).subscribe(subscriber);
+		assertEquals(0, subscriber.batches.size());
+
+		subscriber.subscription.request(1);
+		assertEquals(1, subscriber.batches.size());
+		assertEquals(2, subscriber.batches.get(0).size());
+		assertEquals(1.19425, subscriber.batches.get(0).close(0), 0);
+
+		subscriber.subscription.request(1);
+		assertEquals(2, subscriber.batches.size());
+		assertFalse(subscriber.completed);
+
+		subscriber.subscription.request(1);
+		assertEquals(3, subscriber.batches.size());
+		assertEquals(1, subscriber.batches.get(2).size());
+		assertEquals(1.19426, subscriber.batches.get(2).close(0), 0);
+		assertTrue(subscriber.completed);
+	}
+
+	@Test
+	public final void testPublishCompletesWithoutFurtherDemand() {
+		final RecordingSubscriber subscriber = new RecordingSubscriber(0);
+		new BarPublisher(path, Column.ALL, 5, Runnable::run).subscribe(subscriber);
+		subscriber.subscription.request(1);
+		assertEquals(1, subscriber.batches.size());
+		assertEquals(5, subscriber.batches.get(0).size());
+		assertTrue(subscriber.completed);
+	}
+
+	@Test
+	public final void testPublishOnExecutor() throws Exception {
+		// requests from several threads while batches are emitted on the pool, signals must never overlap
+		final ArrayBarSeries expected = BarChunkParser.read(Constants.PATHS[0], EnumSet.of(Column.TIME, Column.CLOSE));
+		final int batchSize = 1_000;
+		final int batches = (expected.size() + batchSize - 1) / batchSize;
+		final RecordingSubscriber subscriber = new RecordingSubscriber(0);
+		new BarPublisher(Constants.PATHS[0], EnumSet.of(Column.TIME, Column.CLOSE), batchSize, ForkJoinPool.commonPool()).subscribe(subscriber);
+
+		final Thread[] threads = new Thread[4];
+		for (int thread = 0; thread < threads.length; thread++) {
+			threads[thread] = new Thread(() -> {
+				for (int request = 0; request < batches / threads.length + 1; request++) {
+					subscriber.subscription.request(1);
+					Thread.yield();
+				}
+			});
+			threads[thread].start();
+		}
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+		assertTrue(subscriber.terminated.await(60, TimeUnit.SECONDS));
+
+		assertTrue(subscriber.completed);
+		assertFalse(subscriber.overlapped);
+		assertEquals(batches, subscriber.batches.size());
+		int index = 0;
+		for (final ArrayBarSeries batch : subscriber.batches) {
+			for (int row = 0; row < batch.size(); row++, index++) {
+				assertEquals(expected.time(index), batch.time(row));
+				assertEquals(expected.close(index), batch.close(row), 0);
+			}
+		}
+		assertEquals(expected.size(), index);
+	}
+
+	@Test
+	public final void testPublishCancel() {
+		final RecordingSubscriber subscriber = new RecordingSubscriber(0);
+		new BarPublisher(path, Column.ALL, 1, Runnable::run).subscribe(subscriber);
+		subscriber.subscription.request(1);
+		subscriber.subscription.cancel();
+		subscriber.subscription.request(10);
+		assertEquals(1, subscriber.batches.size());
+		assertFalse(subscriber.completed);
+	}
+
+}
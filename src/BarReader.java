@@ -0,0 +1,114 @@
+package com.kamilsarelo.csv;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class BarReader implements Iterator<Bar>, Closeable {
+
+	// fields //////////////////////////////////////////////////////////////////////////////////////
+
+	private final Iterator<String> lines;
+	private final Closeable closeable;
+	private final int[] lineIndeces = new int[10];
+	private Bar next;
+
+	// constructors ////////////////////////////////////////////////////////////////////////////////
+
+	public BarReader(
+			final Path path)
+			throws IOException {
+
+		this(new BufferedReader(new FileReader(path.toFile())));
+	}
+
+	public BarReader(
+			final Iterator<String> lines) {
+
+		// lines as returned by read1() to read4(), e.g. read4(path).iterator()
+		this(lines, null);
+	}
+
+	private BarReader(
+			final BufferedReader bufferedReader) {
+
+		this(bufferedReader.lines().iterator(), bufferedReader);
+	}
+
+	private BarReader(
+			final Iterator<String> lines,
+			final Closeable closeable) {
+
+		this.lines = lines;
+		this.closeable = closeable;
+		try {
+			if (lines.hasNext()) {
+				final String line = lines.next();
+				next = BarChunkParser.isHeader(line) ? readNext() : parse(line); // the same header rule as BarLoader
+			}
+		} catch (final RuntimeException e) {
+			// the caller never gets a reader to close if the first line fails to parse
+			if (closeable != null) {
+				try {
+					closeable.close();
+				} catch (final IOException eClose) {
+					e.addSuppressed(eClose);
+				}
+			}
+			throw e;
+		}
+	}
+
+	// methods /////////////////////////////////////////////////////////////////////////////////////
+
+	@Override
+	public boolean hasNext() {
+		return next != null;
+	}
+
+	@Override
+	public Bar next() {
+		if (next == null) {
+			throw new NoSuchElementException();
+		}
+		final Bar bar = next;
+		next = readNext();
+		return bar;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closeable != null) {
+			closeable.close();
+		}
+	}
+
+	// helper methods //////////////////////////////////////////////////////////////////////////////
+
+	private final Bar readNext() {
+		while (lines.hasNext()) {
+			final String line = lines.next();
+			if (line.isBlank()) {
+				continue;
+			}
+			return parse(line);
+		}
+		return null;
+	}
+
+	private final Bar parse(
+			final String line) {
+
+		try {
+			return CsvReadParsePerformance.parse10(line, lineIndeces);
+		} catch (final ParseException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
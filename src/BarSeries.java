@@ -0,0 +1,38 @@
+package com.kamilsarelo.csv;
+
+import java.util.Set;
+
+public interface BarSeries {
+
+	// methods /////////////////////////////////////////////////////////////////////////////////////
+
+	int size();
+
+	Set<Column> columns(); // only these columns may be accessed
+
+	long time(int index);
+
+	double open(int index);
+
+	double high(int index);
+
+	double low(int index);
+
+	double close(int index);
+
+	double volume(int index);
+
+	default Bar bar(
+			final int index) {
+
+		final Set<Column> columns = columns();
+		return new Bar(
+				columns.contains(Column.TIME) ? time(index) : 0L,
+				columns.contains(Column.OPEN) ? open(index) : Double.NaN,
+				columns.contains(Column.HIGH) ? high(index) : Double.NaN,
+				columns.contains(Column.LOW) ? low(index) : Double.NaN,
+				columns.contains(Column.CLOSE) ? close(index) : Double.NaN,
+				columns.contains(Column.VOLUME) ? volume(index) : Double.NaN);
+	}
+
+}
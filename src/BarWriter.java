@@ -0,0 +1,257 @@
+package com.kamilsarelo.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class BarWriter implements Closeable {
+
+	// constants ///////////////////////////////////////////////////////////////////////////////////
+
+	public static final int BUFFER_SIZE = 1 << 22;
+
+	private static final int LINE_LENGTH_MAX = 2048; // 19 for the time and usually at most 24 per double
+
+	private static final double DIVIDEND_NEIGHBOURS_MIN = 0x1p48; // from here on scaling may be off by a unit
+	private static final double DIVIDEND_MAX = 0x1p63; // parse10() accumulates the dividend as long
+
+	private static final byte[] DIGITS_TENS = new byte[100];
+	private static final byte[] DIGITS_ONES = new byte[100];
+	static {
+		for (int number = 0; number < 100; number++) {
+			DIGITS_TENS[number] = (byte) (48 + number / 10); // numbers start at 48 in ASCII
+			DIGITS_ONES[number] = (byte) (48 + number % 10);
+		}
+	}
+
+	// fields //////////////////////////////////////////////////////////////////////////////////////
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+	private final byte[] bytes;
+	private final byte[] digits = new byte[24]; // reused for the digits of one number
+	private int position;
+
+	// constructors ////////////////////////////////////////////////////////////////////////////////
+
+	private BarWriter(
+			final FileChannel channel) {
+
+		this.channel = channel;
+		buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		bytes = buffer.array();
+	}
+
+	// factory methods /////////////////////////////////////////////////////////////////////////////
+
+	public static final BarWriter create(
+			final Path path,
+			final String header)
+			throws IOException {
+
+		final BarWriter writer = new BarWriter(FileChannel.open(path,
+				StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.WRITE));
+		for (int index = 0; index < header.length(); index++) {
+			writer.bytes[writer.position++] = (byte) header.charAt(index);
+		}
+		writer.bytes[writer.position++] = 10; // '\n' is 10 in ASCII
+		return writer;
+	}
+
+	public static final BarWriter append(
+			final Path path)
+			throws IOException {
+
+		// the file has to end with a line end already, e.g. as written by this writer
+		return new BarWriter(FileChannel.open(path,
+				StandardOpenOption.CREATE,
+				StandardOpenOption.APPEND,
+				StandardOpenOption.WRITE));
+	}
+
+	// methods /////////////////////////////////////////////////////////////////////////////////////
+
+	public final void write(
+			final Bar bar)
+			throws IOException {
+
+		write(bar.time, bar.open, bar.high, bar.low, bar.close, bar.volume);
+	}
+
+	public final void write(
+			final BarSeries series)
+			throws IOException {
+
+		for (int index = 0; index < series.size(); index++) {
+			write(
+					series.time(index),
+					series.open(index),
+					series.high(index),
+					series.low(index),
+					series.close(index),
+					series.volume(index));
+		}
+	}
+
+	public final void write(
+			final long time,
+			final double open,
+			final double high,
+			final double low,
+			final double close,
+			final double volume)
+			throws IOException {
+
+		if (position > bytes.length - LINE_LENGTH_MAX) {
+			flush();
+		}
+		final int positionLine = position;
+		try {
+			writeMillisSinceEpoch(time);
+			bytes[position++] = 44; // ',' is 44 in ASCII
+			writeDouble(open);
+			bytes[position++] = 44;
+			writeDouble(high);
+			bytes[position++] = 44;
+			writeDouble(low);
+			bytes[position++] = 44;
+			writeDouble(close);
+			bytes[position++] = 44;
+			writeDouble(volume);
+			bytes[position++] = 10; // '\n' is 10 in ASCII
+		} catch (final IllegalArgumentException e) {
+			position = positionLine; // no partial line of a rejected bar ends up in the file
+			throw e;
+		}
+	}
+
+	public final void flush() throws IOException {
+		buffer.limit(position).position(0);
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+		position = 0;
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			channel.close();
+		}
+	}
+
+	// milliseconds to bytes writing methods ///////////////////////////////////////////////////////
+
+	private final void writeMillisSinceEpoch(
+			final long millis) {
+
+		if (millis < 0 || millis % Constants.MILLIS_PER_SECOND != 0) {
+			throw new IllegalArgumentException(millis + " is not a whole second since epoch");
+		}
+		final int days = (int) (millis / Constants.MILLIS_PER_DAY);
+		final int seconds = (int) (millis % Constants.MILLIS_PER_DAY / Constants.MILLIS_PER_SECOND);
+
+		// estimate the month from the average month length and correct it with the table
+		final int[] daysPerMonth = Constants.DAYS_SINCE_EPOCH_PER_MONTH;
+		int month = Math.min(daysPerMonth.length - 1, (int) (days * 10_000L / 304_369)); // 30.4369 days per month
+		while (daysPerMonth[month] > days) {
+			month--;
+		}
+		while (month + 1 < daysPerMonth.length && daysPerMonth[month + 1] <= days) {
+			month++;
+		}
+		if (month == daysPerMonth.length - 1 && days - daysPerMonth[month] >= 31) {
+			throw new IllegalArgumentException(millis + " is after the last supported year");
+		}
+
+		final int year = 1970 + month / 12;
+		writeTwoDigits(year / 100);
+		writeTwoDigits(year % 100);
+		bytes[position++] = 46; // '.' is 46 in ASCII
+		writeTwoDigits(month % 12 + 1);
+		bytes[position++] = 46;
+		writeTwoDigits(days - daysPerMonth[month] + 1);
+		bytes[position++] = 32; // ' ' is 32 in ASCII
+		writeTwoDigits(seconds / Constants.SECONDS_PER_HOUR);
+		bytes[position++] = 58; // ':' is 58 in ASCII
+		writeTwoDigits(seconds % Constants.SECONDS_PER_HOUR / Constants.SECONDS_PER_MINUTE);
+		bytes[position++] = 58;
+		writeTwoDigits(seconds % Constants.SECONDS_PER_MINUTE);
+	}
+
+	private final void writeTwoDigits(
+			final int number) {
+
+		bytes[position++] = DIGITS_TENS[number];
+		bytes[position++] = DIGITS_ONES[number];
+	}
+
+	// Double to bytes writing methods /////////////////////////////////////////////////////////////
+
+	private final void writeDouble(
+			final double value) {
+
+		if (!(value >= 0) || value == Double.POSITIVE_INFINITY || Double.doubleToRawLongBits(value) == Long.MIN_VALUE) { // -0.0 too
+			throw new IllegalArgumentException(value + " cannot be read by parse10()");
+		}
+
+		// the fewest decimals whose dividend parse10() divides back to exactly this value
+		for (int decimals = 0; decimals < Constants.POWERS_OF_TEN.length; decimals++) {
+			final double scaled = value * Constants.POWERS_OF_TEN[decimals];
+			if (scaled >= DIVIDEND_MAX) {
+				if (decimals == 0) { // the plain digits would overflow the dividend of parse10()
+					throw new IllegalArgumentException(value + " cannot be read by parse10()");
+				}
+				break;
+			}
+			final double dividend = Math.rint(scaled);
+			if (scaled < DIVIDEND_NEIGHBOURS_MIN) {
+				if (dividend / Constants.POWERS_OF_TEN[decimals] == value) { // the same division as in parse10()
+					writeDecimal((long) dividend, decimals);
+					return;
+				}
+				continue;
+			}
+
+			// the scaled value of a large dividend may be off by a few units, so try its neighbours too
+			final double step = Math.max(1, Math.ulp(dividend));
+			for (int neighbour = -2; neighbour <= 2; neighbour++) {
+				if ((dividend + neighbour * step) / Constants.POWERS_OF_TEN[decimals] == value) {
+					writeDecimal((long) (dividend + neighbour * step), decimals);
+					return;
+				}
+			}
+		}
+
+		// not a result of parse10(), e.g. calculated, so any decimal written would read back as another value
+		throw new IllegalArgumentException(value + " cannot be read back exactly by parse10()");
+	}
+
+	private final void writeDecimal(
+			long dividend,
+			final int decimals) {
+
+		// digits from last to first, with zeros up to the first integer digit
+		int count = 0;
+		do {
+			digits[count++] = (byte) (48 + dividend % 10); // numbers start at 48 in ASCII
+			dividend /= 10;
+		} while (dividend != 0 || count <= decimals);
+
+		for (int index = count - 1; index >= 0; index--) {
+			if (index == decimals - 1) {
+				bytes[position++] = 46; // '.' is 46 in ASCII
+			}
+			bytes[position++] = digits[index];
+		}
+	}
+
+}
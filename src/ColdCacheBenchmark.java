@@ -0,0 +1,117 @@
+package com.kamilsarelo.csv;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
+
+public class ColdCacheBenchmark {
+
+	// types ///////////////////////////////////////////////////////////////////////////////////////
+
+	private interface Reader {
+
+		void read(Path path) throws Exception;
+
+	}
+
+	// constants ///////////////////////////////////////////////////////////////////////////////////
+
+	private static final Path DROP_CACHES = Path.of("/proc/sys/vm/drop_caches");
+
+	private static final int PASSES = 5;
+
+	// main method /////////////////////////////////////////////////////////////////////////////////
+
+	public static final void main(
+			final String[] args)
+			throws Exception {
+
+		final Path[] paths = args.length == 0 ? Constants.PATHS : new Path[args.length];
+		for (int index = 0; index < args.length; index++) {
+			paths[index] = Path.of(args[index]);
+		}
+
+		// without root, or in a container, the page cache stays and the numbers are warm-cache numbers
+		final boolean cold = dropCaches();
+		if (!cold) {
+			System.out.println("cannot drop the page cache (needs root on Linux), measuring warm-cache reads");
+		}
+
+		final Map<String, Reader> readers = readers();
+		System.out.println(String.format(Locale.ROOT, "%-30s %10s %10s %10s %10s",
+				"reader", "min ms", "mean ms", "max ms", "MB/s"));
+		for (final Map.Entry<String, Reader> reader : readers.entrySet()) {
+			final SummaryStatistics statistics = new SummaryStatistics();
+			long bytes = 0;
+			for (int pass = 0; pass < PASSES; pass++) {
+				for (final Path path : paths) {
+					if (cold) {
+						dropCaches();
+					}
+					final long timeBegin = System.nanoTime();
+					reader.getValue().read(path);
+					statistics.addValue((System.nanoTime() - timeBegin) / 1_000_000.0);
+					bytes += Files.size(path);
+				}
+			}
+			System.out.println(String.format(Locale.ROOT, "%-30s %10.1f %10.1f %10.1f %10.1f",
+					reader.getKey(),
+					statistics.getMin(),
+					statistics.getMean(),
+					statistics.getMax(),
+					bytes / 1_000.0 / statistics.getSum()));
+		}
+	}
+
+	// reader methods //////////////////////////////////////////////////////////////////////////////
+
+	private static final Map<String, Reader> readers() {
+		final LinkedHashMap<String, Reader> readers = new LinkedHashMap<>();
+		readers.put("read4+parse10", path -> {
+			final List<String> lines = CsvReadParsePerformance.read4(path);
+			lines.remove(0); // skip first line with column headers
+			final ArrayList<Bar> data = new ArrayList<>(lines.size());
+			final int[] lineIndeces = new int[10];
+			for (final String line : lines) {
+				data.add(CsvReadParsePerformance.parse10(line, lineIndeces));
+			}
+		});
+		readers.put("bytes", path -> {
+			BarChunkParser.read(path, Column.ALL);
+		});
+		for (int queueDepth = 1; queueDepth <= 32; queueDepth <<= 2) {
+			final int depth = queueDepth;
+			readers.put("async depth " + depth + " 1 MB", path -> {
+				AsyncBarReader.read(path, Column.ALL, depth, 1 << 20);
+			});
+		}
+		readers.put("async depth 4 8 MB", path -> {
+			AsyncBarReader.read(path, Column.ALL, 4, 8 << 20);
+		});
+		return readers;
+	}
+
+	// helper methods //////////////////////////////////////////////////////////////////////////////
+
+	private static final boolean dropCaches() {
+		try {
+			// dirty pages are not dropped, so write them first
+			new ProcessBuilder("sync").inheritIO().start().waitFor();
+			Files.write(DROP_CACHES, "3\n".getBytes(StandardCharsets.US_ASCII));
+			return true;
+		} catch (final IOException e) {
+			return false;
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,20 @@
+package com.kamilsarelo.csv;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum Column {
+
+	// constants ///////////////////////////////////////////////////////////////////////////////////
+
+	TIME, // field 0, milliseconds since epoch
+	OPEN, // field 1
+	HIGH, // field 2
+	LOW, // field 3
+	CLOSE, // field 4
+	VOLUME; // field 5
+
+	public static final Set<Column> ALL = Collections.unmodifiableSet(EnumSet.allOf(Column.class));
+
+}
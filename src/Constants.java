@@ -56,6 +56,7 @@ public class Constants {
 		final HashSet<Integer> leapYears = new HashSet<>();
 		final HashMap<Integer, Integer> leapDaysSince = new HashMap<>();
 		int leapYearCounter = 0;
+		leapDaysSince.put(1969, 0); // dates in 1970 look up the leap days until the year before
 		for (int year = 1970; year <= 2100; year++) {
 			if (Year.isLeap(year)) {
 				leapYears.add(year);
@@ -86,6 +87,30 @@ public class Constants {
 		DAYS_SINCE_JANUARY_1ST_PER_MONTH_INCLUSIVE = Collections.unmodifiableMap(map);
 	}
 
+	public static final int[] DAYS_SINCE_EPOCH_PER_MONTH; // index is (year - 1970) * 12 + month - 1
+	public static final int[] DAYS_PER_MONTH; // same index
+	static {
+		DAYS_SINCE_EPOCH_PER_MONTH = new int[(2100 - 1970 + 1) * 12];
+		DAYS_PER_MONTH = new int[DAYS_SINCE_EPOCH_PER_MONTH.length];
+		int days = 0;
+		for (int year = 1970; year <= 2100; year++) {
+			for (int month = 1; month <= 12; month++) {
+				DAYS_SINCE_EPOCH_PER_MONTH[(year - 1970) * 12 + month - 1] = days;
+				DAYS_PER_MONTH[(year - 1970) * 12 + month - 1] = month == 2 && LEAP_YEAR_INCLUSIVE.contains(year) ? 29
+						: DAYS_SINCE_JANUARY_1ST_PER_MONTH_INCLUSIVE.get(month) - DAYS_SINCE_JANUARY_1ST_PER_MONTH_INCLUSIVE.get(month - 1);
+				days += DAYS_PER_MONTH[(year - 1970) * 12 + month - 1];
+			}
+		}
+	}
+
+	public static final double[] POWERS_OF_TEN = new double[23]; // 10^22 is the largest exact power of ten as double
+	static {
+		POWERS_OF_TEN[0] = 1;
+		for (int exponent = 1; exponent < POWERS_OF_TEN.length; exponent++) {
+			POWERS_OF_TEN[exponent] = POWERS_OF_TEN[exponent - 1] * 10;
+		}
+	}
+
 	// constructors ////////////////////////////////////////////////////////////////////////////////
 
 	private Constants() {}
@@ -0,0 +1,954 @@
+package com.kamilsarelo.csv;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CsvReadParseFuzzTest {
+
+	// types ///////////////////////////////////////////////////////////////////////////////////////
+
+	private interface Property<T> {
+
+		void check(T input) throws Exception;
+
+	}
+
+	private interface LineParser {
+
+		Bar parse(String line) throws Exception;
+
+	}
+
+	private static final class Implementation {
+
+		final String name;
+		final Set<Column> columns; // only these columns are compared
+		final Predicate<String> domain; // numbers that the implementation parses bit for bit like the reference
+		final LineParser parser;
+
+		Implementation(
+				final String name,
+				final Set<Column> columns,
+				final Predicate<String> domain,
+				final LineParser parser) {
+
+			this.name = name;
+			this.columns = columns;
+			this.domain = domain;
+			this.parser = parser;
+		}
+
+	}
+
+	private static final class FileCase {
+
+		final List<String> rows; // first row is the header, every row ends with its line end except maybe the last one
+		final int parameter; // buffer size, chunk size, shard size, ...
+
+		FileCase(
+				final List<String> rows,
+				final int parameter) {
+
+			this.rows = rows;
+			this.parameter = parameter;
+		}
+
+		final String content() {
+			return String.join("", rows);
+		}
+
+		@Override
+		public String toString() {
+			return "\"" + escape(content()) + "\" with parameter " + parameter;
+		}
+
+	}
+
+	// constants ///////////////////////////////////////////////////////////////////////////////////
+
+	private static final Logger LOGGER_LOADER = Logger.getLogger(BarLoader.class.getName()); // kept, so its level sticks
+
+	// e.g. -Dfuzz.seed=42 -Dfuzz.iterations=100000 for a longer run
+	private static final long SEED = Long.getLong("fuzz.seed", 20_150_105L);
+	private static final int ITERATIONS = Integer.getInteger("fuzz.iterations", 5_000);
+	private static final int ITERATIONS_FILES = Math.max(1, ITERATIONS / 25);
+
+	private static final String HEADER = "Gmt time,Open,High,Low,Close,Volume";
+	private static final String HEADER_TICKS = "Gmt time,Bid,Ask,Bid volume,Ask volume";
+	private static final String ALPHABET = "0123456789.,: -+eE/aZ"; // for mutations, no line ends
+	private static final int[] YEARS_EDGE = new int[] { 1970, 1971, 1972, 1999, 2000, 2004, 2015, 2016, 2096, 2099, 2100 };
+
+	private static final DateTimeFormatter FORMAT_REFERENCE = DateTimeFormatter.ofPattern("uuuu.MM.dd HH:mm:ss")
+			.withResolverStyle(ResolverStyle.STRICT);
+	private static final Pattern PATTERN_NUMBER = Pattern.compile("[0-9]+(\\.[0-9]*)?");
+	private static final Pattern PATTERN_NUMBER_VALIDATING = Pattern.compile("[0-9]*\\.?[0-9]*");
+	private static final Pattern PATTERN_DATE_TIME_FORMAT = Pattern.compile("....[.]..[.].. ..:..:..");
+	private static final Pattern PATTERN_DATE_TIME_DIGITS = Pattern.compile("[0-9]{4}.[0-9]{2}.[0-9]{2}.[0-9]{2}.[0-9]{2}.[0-9]{2}");
+	private static final BigInteger DIVIDEND_EXACT_MAX = BigInteger.ONE.shiftLeft(53);
+
+	// a division of two exact doubles is correctly rounded, so the fast parsers are exact as long as the dividend and the power of ten are
+	private static final Predicate<String> DOMAIN_ANY = number -> true; // Double.parseDouble()
+	private static final Predicate<String> DOMAIN_INT_MULTIPLIER = number -> integerDigits(number) <= 9 && fractionDigits(number) <= 9;
+	private static final Predicate<String> DOMAIN_EXACT = number -> isDividendExact(number) && fractionDigits(number) <= 22;
+	private static final Predicate<String> DOMAIN_EXACT_LONG_DIVISOR = number -> isDividendExact(number) && fractionDigits(number) <= 18;
+	private static final Predicate<String> DOMAIN_VALIDATING = number -> DOMAIN_EXACT.test(number) && digits(number) <= 18;
+
+	private static final List<Implementation> IMPLEMENTATIONS = Arrays.asList(
+			new Implementation("parse1()", Column.ALL, DOMAIN_ANY, line -> CsvReadParsePerformance.parse1(line)),
+			new Implementation("parse2()", Column.ALL, DOMAIN_ANY, line -> CsvReadParsePerformance.parse2(line, new int[10])),
+			new Implementation("parse3()", Column.ALL, DOMAIN_ANY, line -> CsvReadParsePerformance.parse3(line, new int[10])),
+			new Implementation("parse4()", Column.ALL, DOMAIN_ANY, line -> CsvReadParsePerformance.parse4(line, new int[10])),
+			new Implementation("parse5()", Column.ALL, DOMAIN_ANY, line -> CsvReadParsePerformance.parse5(line, new int[10])),
+			new Implementation("parse6()", Column.ALL, DOMAIN_INT_MULTIPLIER, line -> CsvReadParsePerformance.parse6(line, new int[10])),
+			new Implementation("parse7()", Column.ALL, DOMAIN_EXACT, line -> CsvReadParsePerformance.parse7(line, new int[10])),
+			new Implementation("parse8()", Column.ALL, DOMAIN_EXACT, line -> CsvReadParsePerformance.parse8(line, new int[10])),
+			new Implementation("parse9()", Column.ALL, DOMAIN_EXACT_LONG_DIVISOR, line -> CsvReadParsePerformance.parse9(line, new int[10])),
+			new Implementation("parse10()", Column.ALL, DOMAIN_EXACT, line -> CsvReadParsePerformance.parse10(line, new int[10])),
+			new Implementation("parse11()", Column.ALL, DOMAIN_EXACT, line -> parse11(line, Column.ALL)),
+			new Implementation("parse11() time and close", EnumSet.of(Column.TIME, Column.CLOSE), DOMAIN_EXACT,
+					line -> parse11(line, EnumSet.of(Column.TIME, Column.CLOSE))),
+			new Implementation("BarChunkParser.parse()", Column.ALL, DOMAIN_EXACT, line -> parseBytes(line, Column.ALL)),
+			new Implementation("BarChunkParser.parse() open and volume", EnumSet.of(Column.OPEN, Column.VOLUME), DOMAIN_EXACT,
+					line -> parseBytes(line, EnumSet.of(Column.OPEN, Column.VOLUME))));
+
+	private static final String[] LINES_EDGE = new String[] {
+			"1970.01.01 00:00:00,1,1,1,1,0",
+			"1970.12.31 23:59:59,1.1,1.2,1.0,1.1,0.0",
+			"2000.02.29 12:00:00,1.10000,1.20000,1.00000,1.10000,31.570",
+			"2016.02.29 23:59:59,0.0000000000000000000001,0.0000000000000000000002,0.0000000000000000000001,0.0000000000000000000002,5.",
+			"2100.02.28 23:59:59,123456789012345,123456789012345,123456789012345,123456789012345,999999999999999",
+			"2100.03.01 00:00:00,1.23456789012345,1.23456789012345,1.23456789012345,1.23456789012345,0.1",
+			"2100.12.31 23:59:59,0.3,0.30000000000000004,0.1,0.2,007.50",
+			"2015.01.05 20:14:00,1.1942,1.19428,1.1942,1.19425,31.57",
+	};
+
+	private static final String[] LINES_FILE = new String[] { // time-ordered and in the domain of every reader
+			"1970.01.01 00:00:00,1,1,1,1,0",
+			"1970.12.31 23:59:59,1.1,1.2,1.0,1.1,0.0",
+			"2000.02.29 12:00:00,1.10000,1.20000,1.00000,1.10000,31.570",
+			"2015.01.05 20:14:00,1.1942,1.19428,1.1942,1.19425,31.57",
+			"2016.02.29 23:59:59,0.000000000000001,0.000000000000002,0.000000000000001,0.000000000000002,5.",
+			"2100.02.28 23:59:59,123456789012345,123456789012345,123456789012345,123456789012345,999999999999999",
+			"2100.03.01 00:00:00,1.23456789012345,1.23456789012345,1.23456789012345,1.23456789012345,0.1",
+			"2100.12.31 23:59:59,0.3,0.3000000000000001,0.1,0.2,007.50",
+	};
+
+	// fields //////////////////////////////////////////////////////////////////////////////////////
+
+	private final Random random = new Random(SEED);
+	private Path directory;
+	private Path path;
+
+	// set up and tear down methods ////////////////////////////////////////////////////////////////
+
+	@Before
+	public final void setUp() throws Exception {
+		LOGGER_LOADER.setLevel(Level.WARNING); // no log line per loaded file
+		directory = Files.createTempDirectory("fuzz");
+		path = directory.resolve("bars.csv");
+	}
+
+	@After
+	public final void tearDown() throws Exception {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	// reference methods ///////////////////////////////////////////////////////////////////////////
+
+	private static final Bar reference(
+			final String line) {
+
+		// slow but obviously right: java.time for the date and time, BigDecimal for correctly rounded doubles
+		final String[] fields = line.split(",", -1);
+		if (fields.length != 6) {
+			return null;
+		}
+		for (int field = 1; field < fields.length; field++) {
+			if (!PATTERN_NUMBER.matcher(fields[field]).matches()) {
+				return null;
+			}
+		}
+		return reference(fields);
+	}
+
+	private static final Bar reference(
+			final String[] fields) {
+
+		final LocalDateTime dateTime;
+		try {
+			dateTime = LocalDateTime.parse(fields[0], FORMAT_REFERENCE);
+		} catch (final DateTimeParseException e) {
+			return null;
+		}
+		if (dateTime.getYear() < 1970 || dateTime.getYear() > 2100) { // range of the lookup tables
+			return null;
+		}
+		return new Bar(
+				dateTime.toEpochSecond(ZoneOffset.UTC) * Constants.MILLIS_PER_SECOND,
+				new BigDecimal(fields[1]).doubleValue(),
+				new BigDecimal(fields[2]).doubleValue(),
+				new BigDecimal(fields[3]).doubleValue(),
+				new BigDecimal(fields[4]).doubleValue(),
+				new BigDecimal(fields[5]).doubleValue());
+	}
+
+	private static final ParseError.Reason referenceReason(
+			final String line) {
+
+		// the rules of ParseError.Reason in the order of their documentation, null for a valid line
+		if (line.length() < 20 || line.charAt(19) != ',' || line.substring(20).split(",", -1).length != 5) {
+			return ParseError.Reason.FIELD_COUNT;
+		}
+		final String dateTime = line.substring(0, 19);
+		if (!PATTERN_DATE_TIME_FORMAT.matcher(dateTime).matches()) {
+			return ParseError.Reason.DATE_TIME_FORMAT;
+		}
+		final String[] numbers = line.substring(20).split(",", -1);
+		if (!PATTERN_DATE_TIME_DIGITS.matcher(dateTime).matches()) {
+			return ParseError.Reason.NOT_A_NUMBER;
+		}
+		for (final String number : numbers) {
+			if (!PATTERN_NUMBER_VALIDATING.matcher(number).matches() || digits(number) < 1 || digits(number) > 18) {
+				return ParseError.Reason.NOT_A_NUMBER;
+			}
+		}
+		final Bar bar = reference(new String[] { dateTime, numbers[0], numbers[1], numbers[2], numbers[3], numbers[4] });
+		if (bar == null) {
+			return ParseError.Reason.DATE_TIME_RANGE;
+		}
+		if (!(bar.low <= bar.open && bar.open <= bar.high && bar.low <= bar.close && bar.close <= bar.high)) {
+			return ParseError.Reason.PRICE_RANGE;
+		}
+		return null;
+	}
+
+	private static final Bar referenceValidating(
+			final String line) {
+
+		final String[] numbers = line.substring(20).split(",", -1);
+		return reference(new String[] { line.substring(0, 19), numbers[0], numbers[1], numbers[2], numbers[3], numbers[4] });
+	}
+
+	private static final Tick referenceTick(
+			final String line) {
+
+		final String[] fields = line.split(",", -1);
+		if (fields.length != 5 || fields[0].length() < 19 || fields[0].length() > 29) {
+			return null;
+		}
+		for (int field = 1; field < fields.length; field++) {
+			if (!PATTERN_NUMBER.matcher(fields[field]).matches()) {
+				return null;
+			}
+		}
+		final Bar bar = reference(new String[] { fields[0].substring(0, 19), "0", "0", "0", "0", "0" });
+		final String fraction = fields[0].length() == 19 ? "" : fields[0].substring(20);
+		if (bar == null || (fields[0].length() > 19 && fields[0].charAt(19) != '.') || !fraction.matches("[0-9]*")) {
+			return null;
+		}
+		return new Tick(
+				bar.time * 1_000 + (fraction.isEmpty() ? 0 : Long.parseLong((fraction + "00000").substring(0, 6))), // truncated to microseconds
+				new BigDecimal(fields[1]).doubleValue(),
+				new BigDecimal(fields[2]).doubleValue(),
+				new BigDecimal(fields[3]).doubleValue(),
+				new BigDecimal(fields[4]).doubleValue());
+	}
+
+	private static final List<String> referenceLines(
+			final String content) {
+
+		// like BufferedReader.readLine(): '\n' or "\r\n" end a line, no empty line after the last line end
+		final ArrayList<String> lines = new ArrayList<>(Arrays.asList(content.split("\r?\n", -1)));
+		if (lines.get(lines.size() - 1).isEmpty()) {
+			lines.remove(lines.size() - 1);
+		}
+		return lines;
+	}
+
+	// generator methods ///////////////////////////////////////////////////////////////////////////
+
+	private final int length(
+			final int max) {
+
+		// mostly short like prices and volumes, sometimes many digits
+		final int choice = random.nextInt(10);
+		return 1 + random.nextInt(choice < 6 ? Math.min(3, max) : choice < 9 ? Math.min(8, max) : max);
+	}
+
+	private final String number(
+			final int digitsMax) {
+
+		final StringBuilder builder = new StringBuilder();
+		final int integerDigits = Math.min(length(20), digitsMax);
+		final boolean zeroLeading = integerDigits > 1 && random.nextInt(20) == 0;
+		for (int digit = 0; digit < integerDigits; digit++) {
+			builder.append((char) ('0' + (digit > 0 || integerDigits == 1 ? random.nextInt(10) : zeroLeading ? 0 : 1 + random.nextInt(9))));
+		}
+
+		final int choice = random.nextInt(20);
+		final int fractionDigits = Math.min(length(25), digitsMax - integerDigits);
+		if (choice == 0) {
+			builder.append('.'); // "5." is a number too
+		} else if (choice > 3 && fractionDigits > 0) {
+			builder.append('.');
+			final int zerosTrailing = random.nextInt(5) == 0 ? 1 + random.nextInt(3) : 0;
+			for (int digit = 0; digit < fractionDigits; digit++) {
+				builder.append((char) ('0' + (digit >= fractionDigits - zerosTrailing ? 0 : random.nextInt(10))));
+			}
+		}
+		return builder.toString();
+	}
+
+	private final String dateTime() {
+		// leap days, the last day of a month, and the edges of the supported years more often than by chance
+		final int year = random.nextInt(3) == 0 ? YEARS_EDGE[random.nextInt(YEARS_EDGE.length)] : 1970 + random.nextInt(131);
+		final int month = random.nextInt(4) == 0 ? 2 : 1 + random.nextInt(12);
+		final int days = YearMonth.of(year, month).lengthOfMonth();
+		final int date = random.nextInt(3) == 0 ? days : 1 + random.nextInt(days);
+		return String.format(Locale.ROOT, "%04d.%02d.%02d %02d:%02d:%02d", year, month, date, edge(23), edge(59), edge(59));
+	}
+
+	private final int edge(
+			final int max) {
+
+		final int choice = random.nextInt(10);
+		return choice == 0 ? 0 : choice == 1 ? max : random.nextInt(max + 1);
+	}
+
+	private final String line(
+			final String dateTime,
+			final int digitsMax) {
+
+		// prices ordered like in a real bar, so parse12() accepts them too
+		final String[] prices = new String[] { number(digitsMax), number(digitsMax), number(digitsMax), number(digitsMax) };
+		Arrays.sort(prices, Comparator.comparing(BigDecimal::new));
+		final boolean openFirst = random.nextBoolean();
+		return dateTime
+				+ "," + prices[openFirst ? 1 : 2]
+				+ "," + prices[3]
+				+ "," + prices[0]
+				+ "," + prices[openFirst ? 2 : 1]
+				+ "," + number(digitsMax);
+	}
+
+	private final String lineInvalid() {
+		final String line = line(dateTime(), 18);
+		final ArrayList<String> fields = new ArrayList<>(Arrays.asList(line.split(",", -1)));
+		final int index = random.nextInt(line.length());
+		switch (random.nextInt(8)) {
+			case 0:
+				return line.substring(0, index) + line.substring(index + 1);
+			case 1:
+				return line.substring(0, index) + ALPHABET.charAt(random.nextInt(ALPHABET.length())) + line.substring(index);
+			case 2:
+				return line.substring(0, index) + ALPHABET.charAt(random.nextInt(ALPHABET.length())) + line.substring(index + 1);
+			case 3:
+				fields.set(1 + random.nextInt(5), pick("", ".", "1.2.3", "-1", "1e5", "1234567890123456789", "0.0000000000000000001", " 1"));
+				return String.join(",", fields);
+			case 4:
+				fields.set(0, pick(
+						"1969.12.31 23:59:59", "2101.01.01 00:00:00", "2015.13.01 00:00:00", "2015.00.10 00:00:00",
+						"2015.04.31 00:00:00", "2015.02.29 00:00:00", "2100.02.29 00:00:00", "2016.02.30 00:00:00",
+						"2015.01.00 00:00:00", "2015.01.01 24:00:00", "2015.01.01 00:60:00", "2015.01.01 00:00:60"));
+				return String.join(",", fields);
+			case 5:
+				fields.remove(1 + random.nextInt(5));
+				return String.join(",", fields);
+			case 6:
+				fields.add(1 + random.nextInt(5), number(18));
+				return String.join(",", fields);
+			default:
+				final String high = fields.get(2);
+				fields.set(2, fields.get(3));
+				fields.set(3, high);
+				return String.join(",", fields);
+		}
+	}
+
+	private final String lineTick() {
+		final StringBuilder builder = new StringBuilder(dateTime());
+		final int fractionDigits = random.nextInt(11) - 1; // -1 for no '.' at all, up to nanoseconds
+		if (fractionDigits >= 0) {
+			builder.append('.');
+			for (int digit = 0; digit < fractionDigits; digit++) {
+				builder.append((char) ('0' + random.nextInt(10)));
+			}
+		}
+		for (int field = 0; field < 4; field++) {
+			builder.append(',').append(number(15));
+		}
+		return builder.toString();
+	}
+
+	private final String lineEnd() {
+		return random.nextInt(4) == 0 ? "\r\n" : "\n";
+	}
+
+	private final FileCase file() {
+		// time-ordered like the real files, so byte ranges can be stitched
+		final int count = random.nextInt(5) == 0 ? random.nextInt(3) : random.nextInt(40);
+		final String[] dateTimes = new String[count];
+		for (int row = 0; row < count; row++) {
+			dateTimes[row] = dateTime();
+		}
+		Arrays.sort(dateTimes);
+
+		final ArrayList<String> rows = new ArrayList<>();
+		rows.add(HEADER + lineEnd());
+		for (int row = 0; row < count; row++) {
+			if (random.nextInt(20) == 0) {
+				rows.add(lineEnd()); // blank line
+			}
+			rows.add(line(dateTimes[row], 15) + (row == count - 1 && random.nextBoolean() ? "" : lineEnd()));
+		}
+		return new FileCase(rows, 1 + random.nextInt(256));
+	}
+
+	private final FileCase fileInvalid() {
+		// '\n' only, the byte offsets of parse errors assume it
+		final int count = random.nextInt(30);
+		final ArrayList<String> rows = new ArrayList<>();
+		rows.add(HEADER + "\n");
+		for (int row = 0; row < count; row++) {
+			final int choice = random.nextInt(20);
+			rows.add((choice == 0 ? "" : choice < 10 ? lineInvalid() : line(dateTime(), 15)) + (row == count - 1 && random.nextBoolean() ? "" : "\n"));
+		}
+		return new FileCase(rows, 1);
+	}
+
+	private final FileCase fileTicks() {
+		final int count = random.nextInt(30);
+		final ArrayList<String> rows = new ArrayList<>();
+		rows.add(HEADER_TICKS + lineEnd());
+		for (int row = 0; row < count; row++) {
+			rows.add(lineTick() + (row == count - 1 && random.nextBoolean() ? "" : lineEnd()));
+		}
+		return new FileCase(rows, 1);
+	}
+
+	@SafeVarargs
+	private final <T> T pick(
+			final T... values) {
+
+		return values[random.nextInt(values.length)];
+	}
+
+	// shrinking methods ///////////////////////////////////////////////////////////////////////////
+
+	private static final List<String> shrinkLine(
+			final String line) {
+
+		// every candidate is shorter or has a smaller digit, so shrinking always ends
+		final ArrayList<String> candidates = new ArrayList<>();
+		for (int index = 0; index < line.length(); index++) {
+			candidates.add(line.substring(0, index) + line.substring(index + 1));
+		}
+		for (int index = 0; index < line.length(); index++) {
+			if (line.charAt(index) > '0' && line.charAt(index) <= '9') {
+				candidates.add(line.substring(0, index) + '0' + line.substring(index + 1));
+			}
+		}
+		return candidates;
+	}
+
+	private static final List<FileCase> shrinkFile(
+			final FileCase file) {
+
+		final ArrayList<FileCase> candidates = new ArrayList<>();
+		for (int row = 1; row < file.rows.size(); row++) {
+			final ArrayList<String> rows = new ArrayList<>(file.rows);
+			rows.remove(row);
+			candidates.add(new FileCase(rows, file.parameter));
+		}
+		if (file.parameter > 1) {
+			candidates.add(new FileCase(file.rows, file.parameter / 2));
+			candidates.add(new FileCase(file.rows, file.parameter - 1));
+		}
+		for (int row = 1; row < file.rows.size(); row++) {
+			final String content = file.rows.get(row).replaceAll("\r?\n$", "");
+			final String lineEnd = file.rows.get(row).substring(content.length());
+			for (final String candidate : shrinkLine(content)) {
+				final ArrayList<String> rows = new ArrayList<>(file.rows);
+				rows.set(row, candidate + lineEnd);
+				candidates.add(new FileCase(rows, file.parameter));
+			}
+		}
+		return candidates;
+	}
+
+	private static final <T> T shrink(
+			final T input,
+			final Function<T, List<T>> shrinker,
+			final Property<T> property) {
+
+		// greedy: take the first smaller candidate that still fails, until none does
+		T inputMinimal = input;
+		for (boolean shrunk = true; shrunk;) {
+			shrunk = false;
+			for (final T candidate : shrinker.apply(inputMinimal)) {
+				if (failure(property, candidate) != null) {
+					inputMinimal = candidate;
+					shrunk = true;
+					break;
+				}
+			}
+		}
+		return inputMinimal;
+	}
+
+	// property methods ////////////////////////////////////////////////////////////////////////////
+
+	private final <T> void forAll(
+			final String name,
+			final int iterations,
+			final Supplier<T> generator,
+			final Function<T, List<T>> shrinker,
+			final Property<T> property) {
+
+		for (int iteration = 0; iteration < iterations; iteration++) {
+			final T input = generator.get();
+			if (failure(property, input) != null) {
+				final T inputMinimal = shrink(input, shrinker, property);
+				final Throwable failure = failure(property, inputMinimal);
+				throw new AssertionError(name + " failed in iteration " + iteration + " of seed " + SEED
+						+ "\n  minimal input: " + describe(inputMinimal)
+						+ "\n  failure: " + failure
+						+ "\n  original input: " + describe(input), failure);
+			}
+		}
+	}
+
+	private static final <T> Throwable failure(
+			final Property<T> property,
+			final T input) {
+
+		try {
+			property.check(input);
+			return null;
+		} catch (final Throwable t) {
+			return t;
+		}
+	}
+
+	private static final void checkLine(
+			final Implementation implementation,
+			final String line)
+			throws Exception {
+
+		final Bar expected = reference(line);
+		if (expected == null || !isInDomain(line, implementation.domain)) {
+			return; // nothing to compare against
+		}
+		assertBar(implementation.name, implementation.columns, expected, implementation.parser.parse(line));
+	}
+
+	private static final void checkLineValidating(
+			final String line)
+			throws Exception {
+
+		final ParseError.Reason reason = referenceReason(line);
+		if ((reason == null || reason == ParseError.Reason.PRICE_RANGE) && !isInDomain(line, DOMAIN_VALIDATING)) {
+			return; // prices are not exact, so neither is their order
+		}
+
+		final ParseErrors errors = new ParseErrors(ParseErrors.Policy.SKIP);
+		final Bar bar = CsvReadParsePerformance.parse12(line, new int[10], 7, 42, errors);
+		if (reason == null) {
+			assertEquals("parse12() errors", Arrays.asList(), errors.errors());
+			assertNotNull("parse12() bar", bar);
+			assertBar("parse12()", Column.ALL, referenceValidating(line), bar);
+		} else {
+			assertNull("parse12() bar", bar);
+			assertEquals("parse12() errors", 1, errors.errors().size());
+			final ParseError error = errors.errors().get(0);
+			assertEquals("parse12() reason", reason, error.reason);
+			assertEquals("parse12() line number", 7, error.lineNumber);
+			assertEquals("parse12() byte offset", 42, error.byteOffset);
+			assertEquals("parse12() line", line, error.line);
+		}
+	}
+
+	private final boolean checkReaders(
+			final FileCase file)
+			throws Exception {
+
+		final List<String> lines = referenceLines(file.content());
+		final ArrayList<Bar> bars = new ArrayList<>();
+		for (final String line : lines.subList(1, lines.size())) {
+			if (line.isBlank()) {
+				continue;
+			}
+			final Bar bar = reference(line);
+			if (bar == null || referenceReason(line) != null || !isInDomain(line, DOMAIN_VALIDATING)
+					|| (!bars.isEmpty() && bars.get(bars.size() - 1).time > bar.time)) {
+				return false; // only valid, time-ordered files that every reader parses exactly
+			}
+			bars.add(bar);
+		}
+		Files.write(path, file.content().getBytes(StandardCharsets.US_ASCII));
+
+		final int threads = 1 + file.parameter % 3;
+		final int queueDepth = 1 + file.parameter % 4;
+		final Set<Column> columns = EnumSet.of(Column.TIME, Column.CLOSE);
+
+		assertEquals("read1()", lines, CsvReadParsePerformance.read1(path));
+		assertEquals("read2()", lines, CsvReadParsePerformance.read2(path));
+		assertEquals("read3()", lines, CsvReadParsePerformance.read3(path));
+		assertEquals("read4()", lines, CsvReadParsePerformance.read4(path));
+
+		final ArrayList<Bar> barsRead = new ArrayList<>();
+		try (BarReader reader = new BarReader(path)) {
+			reader.forEachRemaining(barsRead::add);
+		}
+		assertBars("BarReader", Column.ALL, bars, barsRead);
+
+		for (final BarLoader.Strategy strategy : BarLoader.candidates()) {
+			assertSeries("BarLoader " + strategy, Column.ALL, bars, BarLoader.load(path, strategy));
+		}
+		final BarLoader.Strategy strategy = new BarLoader.Strategy(BarLoader.Mode.BYTES_PARALLEL, threads, file.parameter);
+		assertSeries("BarLoader " + strategy, Column.ALL, bars, BarLoader.load(path, strategy));
+		assertSeries("BarLoader with ParseErrors", Column.ALL, bars, BarLoader.load(path, new ParseErrors(ParseErrors.Policy.FAIL)));
+		try (SpillingBarSeries series = BarLoader.load(new Path[] { path }, Column.ALL, 0)) {
+			assertSeries("BarLoader with memory budget", Column.ALL, bars, series);
+		}
+
+		assertSeries("BarChunkParser.read()", Column.ALL, bars, BarChunkParser.read(path, Column.ALL));
+		assertSeries("BarChunkParser.read() time and close", columns, bars, BarChunkParser.read(path, columns));
+		assertSeries("BarChunkParser.readParallel()", Column.ALL, bars, BarChunkParser.readParallel(path, Column.ALL, threads, file.parameter));
+		assertSeries("AsyncBarReader", Column.ALL, bars, AsyncBarReader.read(path, Column.ALL, queueDepth, file.parameter));
+		assertSeries("AsyncBarReader time and close", columns, bars, AsyncBarReader.read(path, columns, queueDepth, file.parameter));
+
+		// shards in-process, the coordinator only adds the worker processes
+		final ArrayList<MappedBarSeries> shards = new ArrayList<>();
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			final long[] boundaries = BarChunkParser.findChunkBoundaries(channel, file.parameter);
+			for (int chunk = 0; chunk < boundaries.length - 1; chunk++) {
+				final Path pathShard = ShardCoordinator.pathShard(directory, path, boundaries[chunk], boundaries[chunk + 1]);
+				ShardWorker.write(path, boundaries[chunk], boundaries[chunk + 1], pathShard, Column.ALL);
+				shards.add(MappedBarSeries.open(pathShard));
+				Files.delete(pathShard);
+			}
+		}
+		assertSeries("ShardWorker", Column.ALL, bars, new ShardedBarSeries(Column.ALL, shards));
+		return true;
+	}
+
+	private final void checkReaderValidating(
+			final FileCase file)
+			throws Exception {
+
+		final List<String> lines = referenceLines(file.content());
+		final ArrayList<Bar> bars = new ArrayList<>();
+		final ArrayList<String> errors = new ArrayList<>();
+		long byteOffset = 0;
+		for (int index = 0; index < lines.size(); index++) {
+			final String line = lines.get(index);
+			if (index > 0 && !line.isBlank()) {
+				final ParseError.Reason reason = referenceReason(line);
+				if ((reason == null || reason == ParseError.Reason.PRICE_RANGE) && !isInDomain(line, DOMAIN_VALIDATING)) {
+					return;
+				}
+				if (reason == null) {
+					bars.add(referenceValidating(line));
+				} else {
+					errors.add("line " + (index + 1) + " at byte " + byteOffset + ": " + reason);
+				}
+			}
+			byteOffset += line.length() + 1;
+		}
+		Files.write(path, file.content().getBytes(StandardCharsets.US_ASCII));
+
+		final ParseErrors parseErrors = new ParseErrors(ParseErrors.Policy.SKIP);
+		final ArrayBarSeries series = BarLoader.load(path, parseErrors);
+		final ArrayList<String> errorsActual = new ArrayList<>();
+		for (final ParseError error : parseErrors.errors()) {
+			errorsActual.add("line " + error.lineNumber + " at byte " + error.byteOffset + ": " + error.reason);
+		}
+		assertEquals("BarLoader with ParseErrors", errors, errorsActual);
+		assertSeries("BarLoader with ParseErrors", Column.ALL, bars, series);
+	}
+
+	private final void checkTickReaders(
+			final FileCase file)
+			throws Exception {
+
+		final List<String> lines = referenceLines(file.content());
+		final ArrayList<Tick> ticks = new ArrayList<>();
+		for (final String line : lines.subList(1, lines.size())) {
+			final Tick tick = referenceTick(line);
+			if (tick == null || !isInDomain(line, DOMAIN_EXACT)) {
+				return;
+			}
+			ticks.add(tick);
+		}
+		Files.write(path, file.content().getBytes(StandardCharsets.US_ASCII));
+
+		assertTicks("TickParser.read()", ticks, TickParser.read(path));
+		final byte[] bytes = file.content().getBytes(StandardCharsets.US_ASCII);
+		final TickSeries series = new TickSeries(1);
+		TickParser.parse(bytes, file.rows.get(0).length(), bytes.length, series);
+		assertTicks("TickParser.parse()", ticks, series);
+	}
+
+	// assert methods //////////////////////////////////////////////////////////////////////////////
+
+	private static final void assertBar(
+			final String name,
+			final Set<Column> columns,
+			final Bar expected,
+			final Bar actual) {
+
+		if (columns.contains(Column.TIME) && expected.time != actual.time) {
+			fail(name + ": time " + actual.time + " instead of " + expected.time);
+		}
+		for (final Column column : columns) {
+			if (column != Column.TIME) {
+				assertBits(name + ": " + column, value(expected, column), value(actual, column));
+			}
+		}
+	}
+
+	private static final void assertBits(
+			final String name,
+			final double expected,
+			final double actual) {
+
+		if (Double.doubleToRawLongBits(expected) != Double.doubleToRawLongBits(actual)) {
+			fail(name + " " + actual + " instead of " + expected);
+		}
+	}
+
+	private static final void assertBars(
+			final String name,
+			final Set<Column> columns,
+			final List<Bar> expected,
+			final List<Bar> actual) {
+
+		assertEquals(name + ": size", expected.size(), actual.size());
+		for (int index = 0; index < expected.size(); index++) {
+			assertBar(name + ": bar " + index, columns, expected.get(index), actual.get(index));
+		}
+	}
+
+	private static final void assertSeries(
+			final String name,
+			final Set<Column> columns,
+			final List<Bar> expected,
+			final BarSeries actual) {
+
+		assertEquals(name + ": size", expected.size(), actual.size());
+		assertEquals(name + ": columns", columns, actual.columns());
+		for (int index = 0; index < expected.size(); index++) {
+			assertBar(name + ": bar " + index, columns, expected.get(index), actual.bar(index));
+		}
+	}
+
+	private static final void assertTicks(
+			final String name,
+			final List<Tick> expected,
+			final TickSeries actual) {
+
+		assertEquals(name + ": size", expected.size(), actual.size());
+		for (int index = 0; index < expected.size(); index++) {
+			final Tick tickExpected = expected.get(index);
+			final Tick tickActual = actual.tick(index);
+			assertEquals(name + ": tick " + index + ": time", tickExpected.time, tickActual.time);
+			assertBits(name + ": tick " + index + ": bid", tickExpected.bid, tickActual.bid);
+			assertBits(name + ": tick " + index + ": ask", tickExpected.ask, tickActual.ask);
+			assertBits(name + ": tick " + index + ": bid volume", tickExpected.bidVolume, tickActual.bidVolume);
+			assertBits(name + ": tick " + index + ": ask volume", tickExpected.askVolume, tickActual.askVolume);
+		}
+	}
+
+	// helper methods //////////////////////////////////////////////////////////////////////////////
+
+	private static final Bar parse11(
+			final String line,
+			final Set<Column> columns)
+			throws Exception {
+
+		final ArrayBarSeries series = new ArrayBarSeries(columns, 1);
+		CsvReadParsePerformance.parse11(line, series);
+		return series.bar(0);
+	}
+
+	private static final Bar parseBytes(
+			final String line,
+			final Set<Column> columns) {
+
+		final byte[] bytes = (line + "\n").getBytes(StandardCharsets.US_ASCII);
+		final ArrayBarSeries series = new ArrayBarSeries(columns, 1);
+		BarChunkParser.parse(bytes, 0, bytes.length, series);
+		return series.bar(0);
+	}
+
+	private static final double value(
+			final Bar bar,
+			final Column column) {
+
+		switch (column) {
+			case OPEN:
+				return bar.open;
+			case HIGH:
+				return bar.high;
+			case LOW:
+				return bar.low;
+			case CLOSE:
+				return bar.close;
+			case VOLUME:
+				return bar.volume;
+			default:
+				throw new IllegalArgumentException(column + " is not a double");
+		}
+	}
+
+	private static final boolean isInDomain(
+			final String line,
+			final Predicate<String> domain) {
+
+		final Iterator<String> fields = Arrays.asList(line.split(",", -1)).iterator();
+		fields.next(); // skip date and time
+		while (fields.hasNext()) {
+			final String number = fields.next();
+			if (digits(number) == 0 || !domain.test(number)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static final int integerDigits(
+			final String number) {
+
+		final int index = number.indexOf('.');
+		return index < 0 ? number.length() : index;
+	}
+
+	private static final int fractionDigits(
+			final String number) {
+
+		final int index = number.indexOf('.');
+		return index < 0 ? 0 : number.length() - index - 1;
+	}
+
+	private static final int digits(
+			final String number) {
+
+		return number.length() - (number.indexOf('.') < 0 ? 0 : 1);
+	}
+
+	private static final boolean isDividendExact(
+			final String number) {
+
+		// the digits without '.' as a long are converted to double without rounding
+		return new BigInteger(number.replace(".", "")).compareTo(DIVIDEND_EXACT_MAX) <= 0;
+	}
+
+	private static final String escape(
+			final String string) {
+
+		return string.replace("\r", "\\r").replace("\n", "\\n");
+	}
+
+	private static final String describe(
+			final Object input) {
+
+		return input instanceof String ? "\"" + escape((String) input) + "\"" : String.valueOf(input);
+	}
+
+	// test methods ////////////////////////////////////////////////////////////////////////////////
+
+	@Test
+	public final void testParse() {
+		for (final Implementation implementation : IMPLEMENTATIONS) {
+			forAll(implementation.name, ITERATIONS, () -> line(dateTime(), 25), CsvReadParseFuzzTest::shrinkLine,
+					line -> checkLine(implementation, line));
+		}
+	}
+
+	@Test
+	public final void testParseValidating() {
+		forAll("parse12()", ITERATIONS, () -> random.nextBoolean() ? line(dateTime(), 25) : lineInvalid(), CsvReadParseFuzzTest::shrinkLine,
+				CsvReadParseFuzzTest::checkLineValidating);
+	}
+
+	@Test
+	public final void testParseEdgeCases() throws Exception {
+		for (final String line : LINES_EDGE) {
+			assertNotNull(line, reference(line));
+			for (final Implementation implementation : IMPLEMENTATIONS) {
+				checkLine(implementation, line);
+			}
+			checkLineValidating(line);
+		}
+	}
+
+	@Test
+	public final void testRead() {
+		forAll("readers", ITERATIONS_FILES, this::file, CsvReadParseFuzzTest::shrinkFile, this::checkReaders);
+	}
+
+	@Test
+	public final void testReadValidating() {
+		forAll("BarLoader with ParseErrors", ITERATIONS_FILES, this::fileInvalid, CsvReadParseFuzzTest::shrinkFile, this::checkReaderValidating);
+	}
+
+	@Test
+	public final void testReadChunkSplits() throws Exception {
+		// every split position of a small file, right before, at, and after every line end
+		final ArrayList<String> rows = new ArrayList<>();
+		rows.add(HEADER + "\r\n");
+		for (int row = 0; row < LINES_FILE.length; row++) {
+			rows.add(LINES_FILE[row] + (row % 2 == 0 ? "\n" : "\r\n"));
+			if (row == 3) {
+				rows.add("\n");
+			}
+		}
+		for (int parameter = 1; parameter <= 80; parameter++) {
+			assertTrue(checkReaders(new FileCase(rows, parameter)));
+		}
+	}
+
+	@Test
+	public final void testReadTicks() {
+		forAll("tick readers", ITERATIONS_FILES, this::fileTicks, CsvReadParseFuzzTest::shrinkFile, this::checkTickReaders);
+	}
+
+}
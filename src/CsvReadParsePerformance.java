@@ -342,6 +342,170 @@ public class CsvReadParsePerformance {
 				parseStringToDouble5(line, lineIndeces[8], lineIndeces[9])); // volume
 	}
 
+	public static final void parse11(
+			final String line,
+			final ArrayBarSeries series)
+			throws NumberFormatException, ParseException {
+
+		final int row = series.add();
+		if (series.time != null) {
+			series.time[row] = parseStringToMillisSinceEpoch4(line); // milliseconds since epoch
+		}
+
+		// scan only up to the last projected field and convert only the projected fields
+		final int length = line.length();
+		int index = 20;
+		for (int field = 1; field <= series.fieldLast; field++) {
+			final double[] column = series.fields[field];
+			if (column == null) {
+				while (index < length && line.charAt(index) != 44) { // ',' is 44 in ASCII
+					index++;
+				}
+			} else {
+				long dividend = 0;
+				int indexOfDelimeter = -1;
+				for (; index < length; index++) {
+					final char character = line.charAt(index);
+					if (character == 44) { // ',' is 44 in ASCII
+						break;
+					}
+					if (character == 46) { // '.' is 46 in ASCII
+						indexOfDelimeter = index;
+						continue;
+					}
+					dividend = (dividend << 1) + (dividend << 3) + (character - 48); // numbers start at 48 in ASCII
+				}
+				column[row] = indexOfDelimeter < 0 ? dividend : dividend / powerOfTen(index - indexOfDelimeter - 1);
+			}
+			index++; // skip ','
+		}
+	}
+
+	public static final Bar parse12(
+			final String line,
+			final int[] lineIndeces,
+			final long lineNumber,
+			final long byteOffset,
+			final ParseErrors errors)
+			throws NumberFormatException, ParseException {
+
+		// one pass like parse11() with the checks folded in, the reason is only worked out for a rejected line
+		final int length = line.length();
+		if (length < 20) {
+			return reject(line, lineNumber, byteOffset, reason(line, lineIndeces), errors);
+		}
+
+		// invalid two digits are negative, and so are wrong separators and values out of range
+		final int century = parseStringToInteger4(line, 0);
+		final int yearOfCentury = parseStringToInteger4(line, 2);
+		final int month = parseStringToInteger4(line, 5);
+		final int date = parseStringToInteger4(line, 8);
+		final int hrs = parseStringToInteger4(line, 11);
+		final int min = parseStringToInteger4(line, 14);
+		final int sec = parseStringToInteger4(line, 17);
+		final int year = century * 100 + yearOfCentury;
+		if ((century | yearOfCentury | month | date | hrs | min | sec
+				| -(line.charAt(4) ^ 46 | line.charAt(7) ^ 46 | line.charAt(10) ^ 32 | line.charAt(13) ^ 58 | line.charAt(16) ^ 58 | line.charAt(19) ^ 44) // '.', ' ', ':', and ',' in ASCII
+				| year - 1970 | 2100 - year | month - 1 | 12 - month | date - 1 | 23 - hrs | 59 - min | 59 - sec) < 0) {
+			return reject(line, lineNumber, byteOffset, reason(line, lineIndeces), errors);
+		}
+
+		// invalid doubles are NaN, which fails the price comparisons and volume == volume
+		lineIndeces[0] = 20;
+		final double open = parseStringToDouble7(line, lineIndeces, 0);
+		final double high = parseStringToDouble7(line, lineIndeces, 2);
+		final double low = parseStringToDouble7(line, lineIndeces, 4);
+		final double close = parseStringToDouble7(line, lineIndeces, 6);
+		final double volume = parseStringToDouble7(line, lineIndeces, 8);
+		final int monthSinceEpoch = (year - 1970) * 12 + month - 1;
+		if (!(lineIndeces[9] == length // neither fewer nor more than 6 fields
+				& date <= Constants.DAYS_PER_MONTH[monthSinceEpoch]
+				& low <= open & open <= high & low <= close & close <= high
+				& volume == volume)) {
+			return reject(line, lineNumber, byteOffset, reason(line, lineIndeces), errors);
+		}
+
+		return new Bar(
+				(Constants.DAYS_SINCE_EPOCH_PER_MONTH[monthSinceEpoch] + date - 1) * Constants.MILLIS_PER_DAY // milliseconds since epoch
+						+ hrs * Constants.MILLIS_PER_HOUR
+						+ min * Constants.MILLIS_PER_MINUTE
+						+ sec * Constants.MILLIS_PER_SECOND,
+				open,
+				high,
+				low,
+				close,
+				volume);
+	}
+
+	private static final ParseError.Reason reason(
+			final String line,
+			final int[] lineIndeces) {
+
+		// the checks of parse12() one after the other, in the order of the reasons
+		if (!findIndecesValidating(line, lineIndeces)) {
+			return ParseError.Reason.FIELD_COUNT;
+		}
+		if ((line.charAt(4) ^ 46 | line.charAt(7) ^ 46 | line.charAt(10) ^ 32 | line.charAt(13) ^ 58 | line.charAt(16) ^ 58) != 0) { // '.', ' ', and ':' in ASCII
+			return ParseError.Reason.DATE_TIME_FORMAT;
+		}
+
+		final int year = parseStringToInteger3(line, 0, 4);
+		final int month = parseStringToInteger3(line, 5, 7);
+		final int date = parseStringToInteger3(line, 8, 10);
+		final int hrs = parseStringToInteger3(line, 11, 13);
+		final int min = parseStringToInteger3(line, 14, 16);
+		final int sec = parseStringToInteger3(line, 17, 19);
+		final double open = parseStringToDouble6(line, lineIndeces[0], lineIndeces[1]);
+		final double high = parseStringToDouble6(line, lineIndeces[2], lineIndeces[3]);
+		final double low = parseStringToDouble6(line, lineIndeces[4], lineIndeces[5]);
+		final double close = parseStringToDouble6(line, lineIndeces[6], lineIndeces[7]);
+		final double volume = parseStringToDouble6(line, lineIndeces[8], lineIndeces[9]);
+
+		// invalid integers are negative and invalid doubles are NaN, so a single check covers all fields
+		if ((year | month | date | hrs | min | sec) < 0 || Double.isNaN(open + high + low + close + volume)) {
+			return ParseError.Reason.NOT_A_NUMBER;
+		}
+		if ((year - 1970 | 2100 - year | month - 1 | 12 - month | date - 1 | 23 - hrs | 59 - min | 59 - sec) < 0
+				|| date > Constants.DAYS_PER_MONTH[(year - 1970) * 12 + month - 1]) {
+			return ParseError.Reason.DATE_TIME_RANGE;
+		}
+		return ParseError.Reason.PRICE_RANGE;
+	}
+
+	private static final boolean findIndecesValidating(
+			final String line,
+			final int[] lineIndeces) {
+
+		if (line.length() < 20 || line.charAt(19) != 44) { // ',' is 44 in ASCII
+			return false;
+		}
+		lineIndeces[0] = 20;
+		int lineIndecesIndex = 1;
+		for (int index = 20; index < line.length(); index++) {
+			if (line.charAt(index) == 44) { // ',' is 44 in ASCII
+				if (lineIndecesIndex == 9) { // more than 6 fields
+					return false;
+				}
+				lineIndeces[lineIndecesIndex++] = index;
+				lineIndeces[lineIndecesIndex++] = index + 1;
+			}
+		}
+		lineIndeces[9] = line.length();
+		return lineIndecesIndex == 9;
+	}
+
+	private static final Bar reject(
+			final String line,
+			final long lineNumber,
+			final long byteOffset,
+			final ParseError.Reason reason,
+			final ParseErrors errors)
+			throws ParseException {
+
+		errors.report(new ParseError(lineNumber, byteOffset, reason, line));
+		return null;
+	}
+
 	// String to milliseconds parsing methods //////////////////////////////////////////////////////
 
 	private static final long toMillisSinceEpoch(
@@ -362,6 +526,21 @@ public class CsvReadParsePerformance {
 				+ sec * Constants.MILLIS_PER_SECOND;
 	}
 
+	static final long toMillisSinceEpoch2(
+			final int year,
+			final int month,
+			final int date,
+			final int hrs,
+			final int min,
+			final int sec) {
+
+		// one array lookup instead of boxing Integer keys for the Map and Set lookups
+		return (Constants.DAYS_SINCE_EPOCH_PER_MONTH[(year - 1970) * 12 + month - 1] + date - 1) * Constants.MILLIS_PER_DAY
+				+ hrs * Constants.MILLIS_PER_HOUR
+				+ min * Constants.MILLIS_PER_MINUTE
+				+ sec * Constants.MILLIS_PER_SECOND;
+	}
+
 	private static final long parseStringToMillisSinceEpoch1(
 			final String string) {
 
@@ -398,6 +577,18 @@ public class CsvReadParsePerformance {
 				parseStringToInteger2(string, 17, 19)); // seconds
 	}
 
+	private static final long parseStringToMillisSinceEpoch4(
+			final String string) {
+
+		return toMillisSinceEpoch2(
+				parseStringToInteger2(string, 0, 4), // year
+				parseStringToInteger2(string, 5, 7), // month
+				parseStringToInteger2(string, 8, 10), // date
+				parseStringToInteger2(string, 11, 13), // hours
+				parseStringToInteger2(string, 14, 16), // minutes
+				parseStringToInteger2(string, 17, 19)); // seconds
+	}
+
 	// String to Integer parsing methods ///////////////////////////////////////////////////////////
 
 	private static final int parseStringToInteger1(
@@ -424,8 +615,39 @@ public class CsvReadParsePerformance {
 		return number;
 	}
 
+	private static final int parseStringToInteger3(
+			final String string,
+			final int indexBegin,
+			final int indexEnd) {
+
+		int number = 0;
+		int invalid = 0;
+		for (int index = indexBegin; index < indexEnd; index++) {
+			final int digit = string.charAt(index) - 48; // numbers start at 48 in ASCII
+			invalid |= digit | 9 - digit; // negative for any character other than a digit
+			number = (number << 1) + (number << 3) + digit;
+		}
+		return number | invalid >> 31; // -1 if invalid
+	}
+
+	private static final int parseStringToInteger4(
+			final String string,
+			final int index) {
+
+		// two digits without a loop
+		final int tens = string.charAt(index) - 48; // numbers start at 48 in ASCII
+		final int ones = string.charAt(index + 1) - 48;
+		return ((tens << 1) + (tens << 3) + ones) | (tens | 9 - tens | ones | 9 - ones) >> 31; // -1 if invalid
+	}
+
 	// String to Double parsing methods ////////////////////////////////////////////////////////////
 
+	static final double powerOfTen(
+			final int exponent) {
+
+		return exponent < Constants.POWERS_OF_TEN.length ? Constants.POWERS_OF_TEN[exponent] : Math.pow(10, exponent);
+	}
+
 	private static final double parseStringToDouble1(
 			final String string) {
 
@@ -541,4 +763,68 @@ public class CsvReadParsePerformance {
 		return dividend / divisor;
 	}
 
+	private static final double parseStringToDouble6(
+			final String string,
+			final int indexBegin,
+			final int indexEnd) {
+
+		long dividend = 0;
+		double divisor = 1;
+		int delimeters = 0;
+		int invalid = 0;
+		for (int index = indexBegin; index < indexEnd; index++) {
+			final char character = string.charAt(index);
+			if (character == 46) { // '.' is 46 in ASCII
+				invalid |= -delimeters; // negative for a second '.'
+				delimeters = 1;
+				divisor = powerOfTen(indexEnd - index - 1);
+				continue;
+			}
+			final int digit = character - 48; // numbers start at 48 in ASCII
+			invalid |= digit | 9 - digit; // negative for any character other than a digit
+			dividend = (dividend << 1) + (dividend << 3) + digit;
+		}
+		final int digits = indexEnd - indexBegin - delimeters;
+		invalid |= (digits - 1) | (18 - digits); // negative without digits or with too many for a long
+		return invalid < 0 ? Double.NaN : dividend / divisor;
+	}
+
+	private static final double parseStringToDouble7(
+			final String string,
+			final int[] lineIndeces,
+			final int lineIndecesIndex) {
+
+		// scans up to the next ',' and stores where the field ends and the next one begins
+		final int length = string.length();
+		final int indexBegin = lineIndeces[lineIndecesIndex];
+		long dividend = 0;
+		int indexOfDelimeter = -1;
+		int index = indexBegin;
+		for (; index < length; index++) {
+			final int digit = string.charAt(index) - 48; // numbers start at 48 in ASCII
+			if ((digit | 9 - digit) < 0) { // ',' and '.' are the only characters other than digits
+				if (digit == -4) { // ',' is 44 in ASCII
+					break;
+				}
+				if (digit != -2 || indexOfDelimeter >= 0) { // '.' is 46 in ASCII, a second one is invalid
+					dividend = -1;
+					break;
+				}
+				indexOfDelimeter = index;
+				continue;
+			}
+			dividend = (dividend << 1) + (dividend << 3) + digit;
+		}
+		lineIndeces[lineIndecesIndex + 1] = index;
+		if (lineIndecesIndex < 8) {
+			lineIndeces[lineIndecesIndex + 2] = index + 1;
+		}
+
+		final int digits = index - indexBegin - (indexOfDelimeter < 0 ? 0 : 1);
+		if ((dividend | digits - 1 | 18 - digits) < 0) { // not a number, no digits, or too many for a long
+			return Double.NaN;
+		}
+		return indexOfDelimeter < 0 ? dividend : dividend / Constants.POWERS_OF_TEN[index - indexOfDelimeter - 1];
+	}
+
 }
@@ -1,11 +1,19 @@
 package com.kamilsarelo.csv;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.logging.Logger;
 import org.junit.BeforeClass;
@@ -71,6 +79,52 @@ public class CsvReadParsePerformanceTest {
 		}
 	}
 
+	private static final void assertParse(
+			final Set<Column> columns) {
+
+		final ArrayBarSeries series = new ArrayBarSeries(columns, linesExpected.size());
+		for (final String line : linesExpected) {
+			if (line.isBlank()) {
+				continue;
+			}
+			try {
+				CsvReadParsePerformance.parse11(line, series);
+			} catch (final Throwable t) {
+				t.printStackTrace();
+			}
+		}
+		assertSeries(columns, series);
+	}
+
+	private static final void assertSeries(
+			final Set<Column> columns,
+			final BarSeries series) {
+
+		assertEquals(dataExpected.size(), series.size());
+		assertEquals(columns, series.columns());
+		for (int index = 0; index < dataExpected.size(); index++) {
+			final Bar bar = dataExpected.get(index);
+			if (columns.contains(Column.TIME)) {
+				assertEquals(bar.time, series.time(index));
+			}
+			if (columns.contains(Column.OPEN)) {
+				assertEquals(bar.open, series.open(index), 0);
+			}
+			if (columns.contains(Column.HIGH)) {
+				assertEquals(bar.high, series.high(index), 0);
+			}
+			if (columns.contains(Column.LOW)) {
+				assertEquals(bar.low, series.low(index), 0);
+			}
+			if (columns.contains(Column.CLOSE)) {
+				assertEquals(bar.close, series.close(index), 0);
+			}
+			if (columns.contains(Column.VOLUME)) {
+				assertEquals(bar.volume, series.volume(index), 0);
+			}
+		}
+	}
+
 	// test methods ////////////////////////////////////////////////////////////////////////////////
 
 	@BeforeClass
@@ -219,4 +273,261 @@ public class CsvReadParsePerformanceTest {
 		});
 	}
 
+	@Test
+	public final void testParse11() {
+		assertParse(Column.ALL);
+	}
+
+	@Test
+	public final void testParse11Projection() {
+		assertParse(EnumSet.of(Column.TIME, Column.CLOSE));
+		assertParse(EnumSet.of(Column.HIGH, Column.LOW));
+		assertParse(EnumSet.of(Column.VOLUME));
+	}
+
+	@Test
+	public final void testParse12() {
+		final ParseErrors errors = new ParseErrors(ParseErrors.Policy.FAIL);
+		assertParse((line, lineIndeces) -> {
+			try {
+				return CsvReadParsePerformance.parse12(line, lineIndeces, 0, 0, errors);
+			} catch (final Throwable t) {
+				t.printStackTrace();
+			}
+			return null;
+		});
+		assertTrue(errors.isEmpty());
+	}
+
+	@Test
+	public final void testParse12Errors() throws Exception {
+		final String[] lines = new String[] {
+				"2015.01.05 20:14:00,1.1942,1.19428,1.1942,1.19425,31.57",
+				"2015.01.05 20:14:00,1.1942,1.19428,1.1942,1.19425,31.57,1",
+				"2015.01.05 20:14:00,1.1942,1.19428,1.1942,1.19425",
+				"2015.01.05 20:1",
+				"2015-01-05 20:14:00,1.1942,1.19428,1.1942,1.19425,31.57",
+				"2015.01.05 20:14:00,1.1942,1.19428,1.1942,1.19425,",
+				"2015.01.05 20:14:00,1.1942,1.19428,1.1942,1.19x25,31.57",
+				"2015.01.05 20:14:00,1.1942,1.1.9428,1.1942,1.19425,31.57",
+				"2015.0a.05 20:14:00,1.1942,1.19428,1.1942,1.19425,31.57",
+				"2015.02.29 20:14:00,1.1942,1.19428,1.1942,1.19425,31.57",
+				"2016.02.29 20:14:00,1.1942,1.19428,1.1942,1.19425,31.57",
+				"2015.01.05 24:00:00,1.1942,1.19428,1.1942,1.19425,31.57",
+				"1969.12.31 23:59:59,1.1942,1.19428,1.1942,1.19425,31.57",
+				"2015.01.05 20:14:00,1.1942,1.19428,1.1943,1.19425,31.57",
+				"2015.01.05 20:14:00,1.1942,1.19428,1.1942,1.19429,31.57",
+		};
+		final ParseError.Reason[] reasons = new ParseError.Reason[] {
+				null,
+				ParseError.Reason.FIELD_COUNT,
+				ParseError.Reason.FIELD_COUNT,
+				ParseError.Reason.FIELD_COUNT,
+				ParseError.Reason.DATE_TIME_FORMAT,
+				ParseError.Reason.NOT_A_NUMBER,
+				ParseError.Reason.NOT_A_NUMBER,
+				ParseError.Reason.NOT_A_NUMBER,
+				ParseError.Reason.NOT_A_NUMBER,
+				ParseError.Reason.DATE_TIME_RANGE,
+				null,
+				ParseError.Reason.DATE_TIME_RANGE,
+				ParseError.Reason.DATE_TIME_RANGE,
+				ParseError.Reason.PRICE_RANGE,
+				ParseError.Reason.PRICE_RANGE,
+		};
+
+		final ParseErrors errors = new ParseErrors(ParseErrors.Policy.SKIP);
+		final int[] lineIndeces = new int[10];
+		long byteOffset = 0;
+		for (int index = 0; index < lines.length; index++) {
+			final Bar bar = CsvReadParsePerformance.parse12(lines[index], lineIndeces, index + 1, byteOffset, errors);
+			assertEquals(lines[index], reasons[index] == null, bar != null);
+			byteOffset += lines[index].length() + 1;
+		}
+
+		int indexError = 0;
+		byteOffset = 0;
+		for (int index = 0; index < lines.length; index++) {
+			if (reasons[index] != null) {
+				final ParseError error = errors.errors().get(indexError++);
+				assertEquals(index + 1, error.lineNumber);
+				assertEquals(byteOffset, error.byteOffset);
+				assertEquals(lines[index], reasons[index], error.reason);
+			}
+			byteOffset += lines[index].length() + 1;
+		}
+		assertEquals(indexError, errors.errors().size());
+	}
+
+	@Test(expected = ParseException.class)
+	public final void testParse12Fail() throws Exception {
+		CsvReadParsePerformance.parse12(
+				"2015.01.05 20:14:00,1.1942,1.19428,1.1942,1.19425,31.57,1",
+				new int[10],
+				1,
+				0,
+				new ParseErrors(ParseErrors.Policy.FAIL));
+	}
+
+	@Test
+	public final void testReadBytes() throws Exception {
+		assertSeries(Column.ALL, BarChunkParser.read(Constants.PATHS[0], Column.ALL));
+		assertSeries(EnumSet.of(Column.TIME, Column.CLOSE), BarChunkParser.read(Constants.PATHS[0], EnumSet.of(Column.TIME, Column.CLOSE)));
+	}
+
+	@Test
+	public final void testReadBytesParallel() throws Exception {
+		assertSeries(Column.ALL, BarChunkParser.readParallel(Constants.PATHS[0], Column.ALL, 4, 1 << 20));
+		assertSeries(Column.ALL, BarChunkParser.readParallel(Constants.PATHS[0], Column.ALL, 3, 12_345));
+	}
+
+	@Test
+	public final void testReadAsync() throws Exception {
+		assertSeries(Column.ALL, AsyncBarReader.read(Constants.PATHS[0], Column.ALL));
+		assertSeries(Column.ALL, AsyncBarReader.read(Constants.PATHS[0], Column.ALL, 1, 1 << 16));
+		assertSeries(EnumSet.of(Column.TIME, Column.CLOSE), AsyncBarReader.read(Constants.PATHS[0], EnumSet.of(Column.TIME, Column.CLOSE), 5, 12_345));
+		assertSeries(Column.ALL, AsyncBarReader.read(Constants.PATHS[0], Column.ALL, 3, 17)); // shorter than a line
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public final void testReadAsyncBufferTooLarge() throws Exception {
+		AsyncBarReader.read(Constants.PATHS[0], Column.ALL, 1, 1 << 30); // twice the size overflows the array length
+	}
+
+	@Test
+	public final void testLoad() throws Exception {
+		for (final BarLoader.Strategy strategy : BarLoader.candidates()) {
+			assertSeries(Column.ALL, BarLoader.load(Constants.PATHS[0], strategy));
+		}
+	}
+
+	@Test
+	public final void testLoadWithoutHeader() throws Exception {
+		// every strategy has to load the same bars, whichever one a host calibrated to
+		final Path path = Files.createTempFile("bars", ".csv");
+		try {
+			Files.write(path, linesExpected);
+			for (final BarLoader.Strategy strategy : BarLoader.candidates()) {
+				assertSeries(Column.ALL, BarLoader.load(path, strategy));
+			}
+			assertSeries(Column.ALL, BarLoader.load(path, new ParseErrors(ParseErrors.Policy.FAIL)));
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public final void testLoadBudgeted() throws Exception {
+		try (SpillingBarSeries series = BarLoader.load(new Path[] { Constants.PATHS[0] }, Column.ALL, Long.MAX_VALUE)) {
+			assertSeries(Column.ALL, series);
+			assertEquals(0, series.spilledBytes());
+		}
+		try (SpillingBarSeries series = BarLoader.load(new Path[] { Constants.PATHS[0] }, EnumSet.of(Column.TIME, Column.CLOSE), 1 << 20)) {
+			assertSeries(EnumSet.of(Column.TIME, Column.CLOSE), series);
+			assertTrue(series.spilledBytes() > 0);
+		}
+		try (SpillingBarSeries series = new SpillingBarSeries(Column.ALL, 0)) {
+			for (final Bar bar : dataExpected) {
+				series.add(bar);
+			}
+			assertSeries(Column.ALL, series);
+		}
+	}
+
+	@Test
+	public final void testWrite() throws Exception {
+		final Path path = Files.createTempFile("bars", ".csv");
+		try {
+			try (BarWriter writer = BarWriter.create(path, "time,open,high,low,close,volume")) {
+				for (final Bar bar : dataExpected.subList(0, dataExpected.size() / 2)) {
+					writer.write(bar);
+				}
+			}
+			try (BarWriter writer = BarWriter.append(path)) {
+				for (final Bar bar : dataExpected.subList(dataExpected.size() / 2, dataExpected.size())) {
+					writer.write(bar);
+				}
+			}
+
+			// round trip through read4() and parse10() has to be exact, not only equal as String
+			final List<String> lines = CsvReadParsePerformance.read4(path);
+			lines.remove(0);
+			assertEquals(dataExpected.size(), lines.size());
+			final int[] lineIndeces = new int[10];
+			final ListIterator<String> linesIterator = lines.listIterator();
+			for (final Bar bar : dataExpected) {
+				assertEquals(bar, CsvReadParsePerformance.parse10(linesIterator.next(), lineIndeces));
+			}
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public final void testWriteRejected() throws Exception {
+		final Path path = Files.createTempFile("bars", ".csv");
+		try {
+			final Bar bar = dataExpected.get(0);
+			try (BarWriter writer = BarWriter.create(path, "time,open,high,low,close,volume")) {
+				writer.write(bar);
+				for (final double value : new double[] { -1, -0.0, Double.NaN, Double.POSITIVE_INFINITY, 0x1p63, 1e20 }) {
+					try {
+						writer.write(bar.time, bar.open, bar.high, bar.low, bar.close, value);
+						fail(value + " written");
+					} catch (final IllegalArgumentException e) {
+						// expected, parse10() would misread it
+					}
+				}
+				writer.write(bar.time, bar.open, bar.high, bar.low, bar.close, 0x1p63 - 1024); // largest double below 2^63
+			}
+
+			// rejected bars leave no partial lines behind
+			final List<String> lines = CsvReadParsePerformance.read4(path);
+			assertEquals(3, lines.size());
+			final int[] lineIndeces = new int[10];
+			assertEquals(bar, CsvReadParsePerformance.parse10(lines.get(1), lineIndeces));
+			assertEquals(0x1p63 - 1024, CsvReadParsePerformance.parse10(lines.get(2), lineIndeces).volume, 0);
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public final void testWriteComputed() throws Exception {
+		final Path path = Files.createTempFile("bars", ".csv");
+		try {
+			// sums of parsed volumes, like an aggregation to 5-minute bars, either read back exactly or are rejected
+			final Bar bar = dataExpected.get(0);
+			final List<Double> valuesWritten = new ArrayList<>();
+			int rejected = 0;
+			try (BarWriter writer = BarWriter.create(path, "time,open,high,low,close,volume")) {
+				for (int index = 0; index + 5 <= dataExpected.size(); index += 5) {
+					double volume = 0;
+					for (int offset = 0; offset < 5; offset++) {
+						volume += dataExpected.get(index + offset).volume;
+					}
+					try {
+						writer.write(bar.time, bar.open, bar.high, bar.low, bar.close, volume);
+						valuesWritten.add(volume);
+					} catch (final IllegalArgumentException e) {
+						rejected++;
+					}
+				}
+			}
+			assertTrue(rejected > 0); // e.g. 233.17000000000002, which has no decimal that parses back to it
+			assertFalse(valuesWritten.isEmpty());
+
+			final List<String> lines = CsvReadParsePerformance.read4(path);
+			assertEquals(valuesWritten.size() + 1, lines.size());
+			final int[] lineIndeces = new int[10];
+			for (int index = 0; index < valuesWritten.size(); index++) {
+				assertEquals(
+						Double.doubleToRawLongBits(valuesWritten.get(index)),
+						Double.doubleToRawLongBits(CsvReadParsePerformance.parse10(lines.get(index + 1), lineIndeces).volume));
+			}
+		} finally {
+			Files.delete(path);
+		}
+	}
+
 }
@@ -0,0 +1,198 @@
+package com.kamilsarelo.csv;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+public class MappedBarSeries implements BarSeries {
+
+	// constants ///////////////////////////////////////////////////////////////////////////////////
+
+	// header of a shard file, followed by one column after the other, each of capacity values
+	static final long MAGIC = 0x4241525348415244L; // "BARSHARD" in ASCII
+	static final int OFFSET_MAGIC = 0;
+	static final int OFFSET_COLUMNS = 8; // bit per column ordinal
+	static final int OFFSET_COMPLETE = 12; // 1 once the worker wrote all rows
+	static final int OFFSET_CAPACITY = 16;
+	static final int OFFSET_SIZE = 24;
+	static final int OFFSET_POSITION_BEGIN = 32; // byte range of the CSV-file
+	static final int OFFSET_POSITION_END = 40;
+	static final int HEADER_SIZE = 64;
+
+	// fields //////////////////////////////////////////////////////////////////////////////////////
+
+	private final Set<Column> columns;
+	private final int size;
+	private LongBuffer time;
+	private final DoubleBuffer[] fields = new DoubleBuffer[6]; // fields[1] to fields[5] are open, high, low, close, and volume
+
+	// constructors ////////////////////////////////////////////////////////////////////////////////
+
+	private MappedBarSeries(
+			final FileChannel channel,
+			final MappedByteBuffer header)
+			throws IOException {
+
+		columns = Collections.unmodifiableSet(columns(header.getInt(OFFSET_COLUMNS)));
+		size = Math.toIntExact(header.getLong(OFFSET_SIZE));
+		final long capacity = header.getLong(OFFSET_CAPACITY);
+
+		// the mappings stay valid after the channel is closed, the page cache is shared with the worker
+		long position = HEADER_SIZE;
+		for (final Column column : columns) {
+			final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, (long) size * Long.BYTES);
+			buffer.order(ByteOrder.nativeOrder());
+			if (column == Column.TIME) {
+				time = buffer.asLongBuffer();
+			} else {
+				fields[column.ordinal()] = buffer.asDoubleBuffer();
+			}
+			position += capacity * Long.BYTES;
+		}
+	}
+
+	// factory methods /////////////////////////////////////////////////////////////////////////////
+
+	public static final MappedBarSeries open(
+			final Path path)
+			throws IOException {
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			final MappedByteBuffer header = header(channel, FileChannel.MapMode.READ_ONLY);
+			if (header.getLong(OFFSET_MAGIC) != MAGIC) {
+				throw new IOException(path + " is not a shard file");
+			}
+			if (header.getInt(OFFSET_COMPLETE) != 1) {
+				throw new IOException(path + " is incomplete");
+			}
+			return new MappedBarSeries(channel, header);
+		}
+	}
+
+	// methods /////////////////////////////////////////////////////////////////////////////////////
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public Set<Column> columns() {
+		return columns;
+	}
+
+	@Override
+	public long time(
+			final int index) {
+
+		return time.get(index);
+	}
+
+	@Override
+	public double open(
+			final int index) {
+
+		return fields[1].get(index);
+	}
+
+	@Override
+	public double high(
+			final int index) {
+
+		return fields[2].get(index);
+	}
+
+	@Override
+	public double low(
+			final int index) {
+
+		return fields[3].get(index);
+	}
+
+	@Override
+	public double close(
+			final int index) {
+
+		return fields[4].get(index);
+	}
+
+	@Override
+	public double volume(
+			final int index) {
+
+		return fields[5].get(index);
+	}
+
+	// helper methods //////////////////////////////////////////////////////////////////////////////
+
+	static final MappedByteBuffer header(
+			final FileChannel channel,
+			final FileChannel.MapMode mode)
+			throws IOException {
+
+		if (mode == FileChannel.MapMode.READ_ONLY && channel.size() < HEADER_SIZE) {
+			throw new IOException("shard file shorter than its header");
+		}
+		final MappedByteBuffer header = channel.map(mode, 0, HEADER_SIZE);
+		header.order(ByteOrder.nativeOrder());
+		return header;
+	}
+
+	static final int mask(
+			final Set<Column> columns) {
+
+		int mask = 0;
+		for (final Column column : columns) {
+			mask |= 1 << column.ordinal();
+		}
+		return mask;
+	}
+
+	static final EnumSet<Column> columns(
+			final int mask) {
+
+		final EnumSet<Column> columns = EnumSet.noneOf(Column.class);
+		for (final Column column : Column.values()) {
+			if ((mask & 1 << column.ordinal()) != 0) {
+				columns.add(column);
+			}
+		}
+		return columns;
+	}
+
+	static final boolean isComplete(
+			final Path path,
+			final long positionBegin,
+			final long positionEnd,
+			final Set<Column> columns,
+			final Path source) {
+
+		// a shard of an earlier run is only reused for the same range and projection of an unchanged file
+		try {
+			if (!Files.isRegularFile(path)
+					|| Files.getLastModifiedTime(path).compareTo(Files.getLastModifiedTime(source)) < 0) {
+				return false;
+			}
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+				final MappedByteBuffer header = header(channel, FileChannel.MapMode.READ_ONLY);
+				return header.getLong(OFFSET_MAGIC) == MAGIC
+						&& header.getInt(OFFSET_COMPLETE) == 1
+						&& header.getInt(OFFSET_COLUMNS) == mask(columns)
+						&& header.getLong(OFFSET_POSITION_BEGIN) == positionBegin
+						&& header.getLong(OFFSET_POSITION_END) == positionEnd;
+			}
+		} catch (final IOException e) {
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,43 @@
+package com.kamilsarelo.csv;
+
+public class ParseError {
+
+	// types ///////////////////////////////////////////////////////////////////////////////////////
+
+	public enum Reason {
+		FIELD_COUNT, // not exactly 6 fields or a line too short for the date and time
+		DATE_TIME_FORMAT, // date and time not in the yyyy.MM.dd HH:mm:ss format
+		NOT_A_NUMBER, // empty field, a character other than digits, or more than one '.'
+		DATE_TIME_RANGE, // year not in 1970 to 2100, or month, date, hours, minutes, or seconds out of range
+		PRICE_RANGE, // not low <= open <= high and low <= close <= high
+	}
+
+	// fields //////////////////////////////////////////////////////////////////////////////////////
+
+	public final long lineNumber; // 1-based, the line with column headers is line 1
+	public final long byteOffset; // of the first character of the line
+	public final Reason reason;
+	public final String line;
+
+	// constructors ////////////////////////////////////////////////////////////////////////////////
+
+	public ParseError(
+			final long lineNumber,
+			final long byteOffset,
+			final Reason reason,
+			final String line) {
+
+		this.lineNumber = lineNumber;
+		this.byteOffset = byteOffset;
+		this.reason = reason;
+		this.line = line;
+	}
+
+	// methods /////////////////////////////////////////////////////////////////////////////////////
+
+	@Override
+	public String toString() {
+		return "line " + lineNumber + " at byte " + byteOffset + ": " + reason + " in \"" + line + "\"";
+	}
+
+}
@@ -0,0 +1,50 @@
+package com.kamilsarelo.csv;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class ParseErrors {
+
+	// types ///////////////////////////////////////////////////////////////////////////////////////
+
+	public enum Policy {
+		SKIP, // collect the error and skip the line
+		FAIL, // collect the error and stop parsing
+	}
+
+	// fields //////////////////////////////////////////////////////////////////////////////////////
+
+	private final Policy policy;
+	private final ArrayList<ParseError> errors = new ArrayList<>();
+
+	// constructors ////////////////////////////////////////////////////////////////////////////////
+
+	public ParseErrors(
+			final Policy policy) {
+
+		this.policy = policy;
+	}
+
+	// methods /////////////////////////////////////////////////////////////////////////////////////
+
+	public final List<ParseError> errors() {
+		return Collections.unmodifiableList(errors);
+	}
+
+	public final boolean isEmpty() {
+		return errors.isEmpty();
+	}
+
+	final void report(
+			final ParseError error)
+			throws ParseException {
+
+		errors.add(error);
+		if (policy == Policy.FAIL) {
+			throw new ParseException(error.toString(), (int) Math.min(Integer.MAX_VALUE, error.byteOffset));
+		}
+	}
+
+}
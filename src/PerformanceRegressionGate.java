@@ -0,0 +1,361 @@
+package com.kamilsarelo.csv;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
+
+public class PerformanceRegressionGate {
+
+	// types ///////////////////////////////////////////////////////////////////////////////////////
+
+	private interface Scenario {
+
+		void run(Path path) throws Exception;
+
+	}
+
+	// constants ///////////////////////////////////////////////////////////////////////////////////
+
+	private static final Path BASELINE = Path.of(
+			System.getProperty("user.dir"),
+			"performance-baseline.json");
+
+	private static final long SEED = 20_150_105L;
+	private static final int BARS = 250_000; // about 8 months of 1-minute bars
+	private static final long TIME_BEGIN = 1_420_070_400_000L; // 2015.01.01 00:00:00
+	private static final double TOLERANCE_DEFAULT = 0.30;
+
+	private static final int PASSES_WARM_UP = 5;
+	private static final int PASSES_MEASURED = 11;
+	private static final int PASSES_MEASURED_OVERHEAD = 31; // a few percent are within the noise of fewer passes
+	private static final int FORKS_OVERHEAD = 5; // compiled code varies from JVM to JVM by more than a few percent
+
+	private static final double OVERHEAD_PARSE12_MAX = 0.05; // validating parse12() compared to parse10() on the same lines
+
+	private static final Pattern PATTERN_SCENARIO = Pattern.compile(
+			"\"([^\"]+)\"\\s*:\\s*\\{\\s*\"score\"\\s*:\\s*([0-9.eE+-]+)\\s*,\\s*\"tolerance\"\\s*:\\s*([0-9.eE+-]+)\\s*\\}");
+
+	// fields //////////////////////////////////////////////////////////////////////////////////////
+
+	private static volatile long sink; // keeps the JIT from removing the calibration loop
+
+	// main method /////////////////////////////////////////////////////////////////////////////////
+
+	public static final void main(
+			final String[] args)
+			throws Exception {
+
+		// a forked JVM only measures the overhead on the dataset of its parent
+		if (args.length == 2 && args[0].equals("--overhead")) {
+			System.out.println(measureOverheadParse12(Path.of(args[1])));
+			return;
+		}
+
+		final boolean update = args.length > 0 && args[0].equals("--update");
+
+		// a gate without a baseline, e.g. run from another directory, would pass everything
+		final Map<String, double[]> baseline = readBaseline();
+		if (!update && baseline.isEmpty()) {
+			System.out.println((Files.isRegularFile(BASELINE) ? "no scenarios in " : "no baseline at ") + BASELINE
+					+ ", run from the repository directory or with --update");
+			System.exit(1);
+		}
+
+		final Path path = Files.createTempFile("performance", ".csv");
+		try {
+			writeDataset(path);
+
+			// scores are scenario times in units of the calibration loop, which cancels most of the machine speed
+			final double calibration = measure(ignored -> calibrate(), path);
+			final LinkedHashMap<String, Double> scores = new LinkedHashMap<>();
+			final ArrayBarSeries series = BarChunkParser.read(path, Column.ALL);
+			for (final Map.Entry<String, Scenario> scenario : scenarios(series).entrySet()) {
+				scores.put(scenario.getKey(), measure(scenario.getValue(), path) / calibration);
+			}
+
+			if (update) {
+				writeBaseline(scores, baseline);
+				System.out.println("updated " + BASELINE);
+				return;
+			}
+			final boolean passed = compare(scores, baseline);
+			if (!compareOverhead(measureOverheadParse12Forked(path)) || !passed) {
+				System.exit(1);
+			}
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	// scenario methods ////////////////////////////////////////////////////////////////////////////
+
+	private static final Map<String, Scenario> scenarios(
+			final BarSeries series) {
+
+		final LinkedHashMap<String, Scenario> scenarios = new LinkedHashMap<>();
+		scenarios.put("read4+parse10", path -> {
+			final List<String> lines = CsvReadParsePerformance.read4(path);
+			lines.remove(0); // skip first line with column headers
+			final ArrayList<Bar> data = new ArrayList<>(lines.size());
+			final int[] lineIndeces = new int[10];
+			for (final String line : lines) {
+				data.add(CsvReadParsePerformance.parse10(line, lineIndeces));
+			}
+		});
+		scenarios.put("read4+parse11 time and close", path -> {
+			final List<String> lines = CsvReadParsePerformance.read4(path);
+			lines.remove(0);
+			final ArrayBarSeries projection = new ArrayBarSeries(EnumSet.of(Column.TIME, Column.CLOSE), lines.size());
+			for (final String line : lines) {
+				CsvReadParsePerformance.parse11(line, projection);
+			}
+		});
+		scenarios.put("read4+parse12", path -> {
+			BarLoader.load(path, new ParseErrors(ParseErrors.Policy.FAIL));
+		});
+		scenarios.put("bytes", path -> {
+			BarChunkParser.read(path, Column.ALL);
+		});
+		scenarios.put("bytes parallel", path -> {
+			BarChunkParser.readParallel(path, Column.ALL, Runtime.getRuntime().availableProcessors(), 1 << 20);
+		});
+		scenarios.put("write", path -> {
+			final Path pathWrite = Files.createTempFile("performance", ".csv");
+			try (BarWriter writer = BarWriter.create(pathWrite, "Gmt time,Open,High,Low,Close,Volume")) {
+				writer.write(series);
+			} finally {
+				Files.deleteIfExists(pathWrite);
+			}
+		});
+		return scenarios;
+	}
+
+	private static final double measureOverheadParse12Forked(
+			final Path path)
+			throws IOException, InterruptedException {
+
+		// the median of fresh JVMs, like the forks of JMH
+		final double[] overheads = new double[FORKS_OVERHEAD];
+		for (int fork = 0; fork < FORKS_OVERHEAD; fork++) {
+			final Process process = new ProcessBuilder(
+					Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+					"-cp",
+					System.getProperty("java.class.path"),
+					PerformanceRegressionGate.class.getName(),
+					"--overhead",
+					path.toString())
+					.redirectErrorStream(true)
+					.start();
+			final String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+			if (process.waitFor() != 0) {
+				throw new IOException("overhead fork failed with exit value " + process.exitValue() + ": " + output);
+			}
+			overheads[fork] = Double.parseDouble(output);
+		}
+		Arrays.sort(overheads);
+		return overheads[FORKS_OVERHEAD / 2];
+	}
+
+	private static final double measureOverheadParse12(
+			final Path path)
+			throws Exception {
+
+		final List<String> lines = CsvReadParsePerformance.read4(path);
+		lines.remove(0); // skip first line with column headers
+		final int[] lineIndeces = new int[10];
+		final ParseErrors errors = new ParseErrors(ParseErrors.Policy.FAIL);
+		return measureOverhead(
+				ignored -> {
+					long time = 0;
+					for (final String line : lines) {
+						time += CsvReadParsePerformance.parse10(line, lineIndeces).time;
+					}
+					sink += time;
+				},
+				ignored -> {
+					long time = 0;
+					long lineNumber = 1;
+					for (final String line : lines) {
+						time += CsvReadParsePerformance.parse12(line, lineIndeces, ++lineNumber, 0, errors).time;
+					}
+					sink += time;
+				},
+				path);
+	}
+
+	// helper methods //////////////////////////////////////////////////////////////////////////////
+
+	private static final void writeDataset(
+			final Path path)
+			throws IOException {
+
+		// fixed seed, so every run on every machine parses the very same bytes
+		final Random random = new Random(SEED);
+		double close = 1.2;
+		try (BarWriter writer = BarWriter.create(path, "Gmt time,Open,High,Low,Close,Volume")) {
+			for (int index = 0; index < BARS; index++) {
+				final double open = close;
+				close = Math.round((open + random.nextGaussian() * 0.0002) * 100_000) / 100_000.0;
+				final double high = Math.max(open, close) + random.nextInt(20) / 100_000.0;
+				final double low = Math.min(open, close) - random.nextInt(20) / 100_000.0;
+				writer.write(
+						TIME_BEGIN + index * Constants.MILLIS_PER_MINUTE,
+						open,
+						Math.round(high * 100_000) / 100_000.0,
+						Math.round(low * 100_000) / 100_000.0,
+						close,
+						random.nextInt(10_000) / 100.0);
+			}
+		}
+	}
+
+	private static final void calibrate() {
+		// fixed amount of pure integer work, independent of I/O, allocation, and the code under test
+		long value = SEED;
+		for (int index = 0; index < 20_000_000; index++) {
+			value ^= value << 13;
+			value ^= value >>> 7;
+			value ^= value << 17;
+		}
+		sink += value;
+	}
+
+	private static final double measure(
+			final Scenario scenario,
+			final Path path)
+			throws Exception {
+
+		for (int pass = 0; pass < PASSES_WARM_UP; pass++) {
+			scenario.run(path);
+		}
+		final SummaryStatistics statistics = new SummaryStatistics();
+		for (int pass = 0; pass < PASSES_MEASURED; pass++) {
+			System.gc(); // no garbage of the previous pass collected during this one
+			final long timeBegin = System.nanoTime();
+			scenario.run(path);
+			statistics.addValue(System.nanoTime() - timeBegin);
+		}
+		return statistics.getMin(); // noise of a shared machine only ever adds time, so the fastest pass is the most stable
+	}
+
+	private static final double measureOverhead(
+			final Scenario scenarioBase,
+			final Scenario scenario,
+			final Path path)
+			throws Exception {
+
+		// alternating passes, so a machine that speeds up or slows down meanwhile affects both scenarios alike
+		for (int pass = 0; pass < PASSES_WARM_UP; pass++) {
+			scenarioBase.run(path);
+			scenario.run(path);
+		}
+		long nanosBase = Long.MAX_VALUE;
+		long nanos = Long.MAX_VALUE;
+		for (int pass = 0; pass < PASSES_MEASURED_OVERHEAD; pass++) {
+			System.gc();
+			long timeBegin = System.nanoTime();
+			scenarioBase.run(path);
+			nanosBase = Math.min(nanosBase, System.nanoTime() - timeBegin);
+			System.gc();
+			timeBegin = System.nanoTime();
+			scenario.run(path);
+			nanos = Math.min(nanos, System.nanoTime() - timeBegin);
+		}
+		return (double) nanos / nanosBase - 1;
+	}
+
+	private static final boolean compare(
+			final Map<String, Double> scores,
+			final Map<String, double[]> baseline) {
+
+		boolean passed = true;
+		System.out.println(String.format(Locale.ROOT, "%-30s %10s %10s %9s %9s  %s",
+				"scenario", "baseline", "actual", "change", "tolerance", "result"));
+		for (final Map.Entry<String, Double> score : scores.entrySet()) {
+			final double[] expected = baseline.get(score.getKey());
+			if (expected == null) {
+				System.out.println(String.format(Locale.ROOT, "%-30s %10s %10.3f %9s %9s  %s",
+						score.getKey(), "-", score.getValue(), "-", "-", "NEW, run with --update"));
+				passed = false;
+				continue;
+			}
+			final double change = score.getValue() / expected[0] - 1;
+			final boolean regressed = change > expected[1];
+			passed &= !regressed;
+			System.out.println(String.format(Locale.ROOT, "%-30s %10.3f %10.3f %+8.1f%% %8.0f%%  %s",
+					score.getKey(), expected[0], score.getValue(), change * 100, expected[1] * 100,
+					regressed ? "REGRESSION" : "ok"));
+		}
+		for (final String scenario : baseline.keySet()) {
+			if (!scores.containsKey(scenario)) {
+				System.out.println(String.format(Locale.ROOT, "%-30s %10.3f %10s %9s %9s  %s",
+						scenario, baseline.get(scenario)[0], "-", "-", "-", "MISSING, run with --update"));
+				passed = false; // e.g. a renamed scenario, which would go unchecked otherwise
+			}
+		}
+		return passed;
+	}
+
+	private static final boolean compareOverhead(
+			final double overhead) {
+
+		// an absolute limit instead of a baseline, as both scenarios run on the same machine in the same run
+		final boolean exceeded = overhead > OVERHEAD_PARSE12_MAX;
+		System.out.println(String.format(Locale.ROOT, "%-30s %10s %10s %+8.1f%% %8.0f%%  %s",
+				"parse12 overhead on parse10", "-", "-", overhead * 100, OVERHEAD_PARSE12_MAX * 100,
+				exceeded ? "REGRESSION" : "ok"));
+		return !exceeded;
+	}
+
+	private static final Map<String, double[]> readBaseline() throws IOException {
+		final LinkedHashMap<String, double[]> baseline = new LinkedHashMap<>();
+		if (!Files.isRegularFile(BASELINE)) {
+			return baseline;
+		}
+
+		// flat format written by writeBaseline(), no JSON library necessary
+		final Matcher matcher = PATTERN_SCENARIO.matcher(new String(Files.readAllBytes(BASELINE), StandardCharsets.UTF_8));
+		while (matcher.find()) {
+			baseline.put(matcher.group(1), new double[] {
+					Double.parseDouble(matcher.group(2)),
+					Double.parseDouble(matcher.group(3)) });
+		}
+		return baseline;
+	}
+
+	private static final void writeBaseline(
+			final Map<String, Double> scores,
+			final Map<String, double[]> baseline)
+			throws IOException {
+
+		final StringBuilder builder = new StringBuilder();
+		builder.append("{\n");
+		builder.append("  \"unit\": \"fastest scenario time / fastest calibration loop time\",\n");
+		builder.append("  \"scenarios\": {\n");
+		int index = 0;
+		for (final Map.Entry<String, Double> score : scores.entrySet()) {
+			final double[] expected = baseline.get(score.getKey());
+			builder.append(String.format(Locale.ROOT, "    \"%s\": { \"score\": %.3f, \"tolerance\": %.2f }%s\n",
+					score.getKey(),
+					score.getValue(),
+					expected == null ? TOLERANCE_DEFAULT : expected[1], // tolerances are kept, only scores change
+					++index < scores.size() ? "," : ""));
+		}
+		builder.append("  }\n");
+		builder.append("}\n");
+		Files.write(BASELINE, builder.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,266 @@
+package com.kamilsarelo.csv;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.logging.Logger;
+
+public class ShardCoordinator {
+
+	// types ///////////////////////////////////////////////////////////////////////////////////////
+
+	private static final class Shard {
+
+		final Path path;
+		final long positionBegin;
+		final long positionEnd;
+		final Path pathShard;
+		int attempts;
+		Process process;
+
+		Shard(
+				final Path path,
+				final long positionBegin,
+				final long positionEnd,
+				final Path pathShard) {
+
+			this.path = path;
+			this.positionBegin = positionBegin;
+			this.positionEnd = positionEnd;
+			this.pathShard = pathShard;
+		}
+
+		@Override
+		public String toString() {
+			return path.getFileName() + "[" + positionBegin + ", " + positionEnd + ")";
+		}
+
+	}
+
+	// constants ///////////////////////////////////////////////////////////////////////////////////
+
+	public static final int ATTEMPTS_MAX = 3;
+
+	private static final Logger LOGGER = Logger.getLogger(ShardCoordinator.class.getName());
+
+	private static final String WORKER_HEAP = "-Xmx128m"; // a worker only holds one buffer-sized range at a time
+	private static final int WINDOW_SIZE = 1 << 12; // enough for the header and a few lines at either end of a file
+	private static final Set<Column> COLUMNS_TIME = EnumSet.of(Column.TIME);
+
+	// constructors ////////////////////////////////////////////////////////////////////////////////
+
+	private ShardCoordinator() {}
+
+	// loading methods /////////////////////////////////////////////////////////////////////////////
+
+	public static final ShardedBarSeries load(
+			final Path[] paths,
+			final Set<Column> columns,
+			final int workers,
+			final long shardSize,
+			final Path directory)
+			throws IOException {
+
+		if (workers < 1 || shardSize < 1) {
+			throw new IllegalArgumentException("workers " + workers + " and shard size " + shardSize + " must be positive");
+		}
+
+		// files that overlap in time cannot be stitched, so fail before any worker runs, whatever the projection
+		final Path[] pathsOrdered = orderByTime(paths);
+
+		// shards of an earlier, e.g. crashed, run in the same directory are reused if complete
+		final ArrayList<Shard> shards = plan(pathsOrdered, shardSize, directory);
+		final ArrayDeque<Shard> shardsPending = new ArrayDeque<>();
+		for (final Shard shard : shards) {
+			if (!MappedBarSeries.isComplete(shard.pathShard, shard.positionBegin, shard.positionEnd, columns, shard.path)) {
+				shardsPending.add(shard);
+			}
+		}
+		LOGGER.fine("reusing " + (shards.size() - shardsPending.size()) + " of " + shards.size() + " shards");
+
+		run(shardsPending, columns, workers);
+
+		// the series maps the shard files, nothing is copied into the coordinator's heap, and keeps their order without TIME
+		final ArrayList<MappedBarSeries> series = new ArrayList<>(shards.size());
+		for (final Shard shard : shards) {
+			series.add(MappedBarSeries.open(shard.pathShard));
+		}
+		return new ShardedBarSeries(MappedBarSeries.columns(MappedBarSeries.mask(columns)), series);
+	}
+
+	// helper methods //////////////////////////////////////////////////////////////////////////////
+
+	private static final ArrayList<Shard> plan(
+			final Path[] paths,
+			final long shardSize,
+			final Path directory)
+			throws IOException {
+
+		final ArrayList<Shard> shards = new ArrayList<>();
+		for (final Path path : paths) {
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+				final long[] boundaries = BarChunkParser.findChunkBoundaries(channel, shardSize);
+				for (int chunk = 0; chunk < boundaries.length - 1; chunk++) {
+					shards.add(new Shard(path, boundaries[chunk], boundaries[chunk + 1],
+							pathShard(directory, path, boundaries[chunk], boundaries[chunk + 1])));
+				}
+			}
+		}
+		return shards;
+	}
+
+	private static final Path[] orderByTime(
+			final Path[] paths)
+			throws IOException {
+
+		// the same rule as in ShardedBarSeries, but on the first and last bar of every file only
+		final ArrayList<long[]> ranges = new ArrayList<>(paths.length); // first time, last time, and index of the file
+		final ArrayList<Path> pathsEmpty = new ArrayList<>();
+		for (int file = 0; file < paths.length; file++) {
+			try (FileChannel channel = FileChannel.open(paths[file], StandardOpenOption.READ)) {
+				final ArrayBarSeries head = readTimes(channel, 0);
+				final ArrayBarSeries tail = readTimes(channel, Math.max(0, channel.size() - WINDOW_SIZE));
+				if (head.size() > 0 && tail.size() > 0) {
+					ranges.add(new long[] { head.time(0), tail.time(tail.size() - 1), file });
+				} else {
+					pathsEmpty.add(paths[file]); // no bars, so no place in time
+				}
+			}
+		}
+
+		ranges.sort(Comparator.comparingLong(range -> range[0]));
+		for (int range = 1; range < ranges.size(); range++) {
+			if (ranges.get(range - 1)[1] > ranges.get(range)[0]) {
+				throw new IllegalArgumentException(paths[(int) ranges.get(range - 1)[2]].getFileName() + " and "
+						+ paths[(int) ranges.get(range)[2]].getFileName() + " overlap in time, merge them with BarMerger instead");
+			}
+		}
+
+		final Path[] pathsOrdered = new Path[paths.length];
+		for (int range = 0; range < ranges.size(); range++) {
+			pathsOrdered[range] = paths[(int) ranges.get(range)[2]];
+		}
+		for (int file = 0; file < pathsEmpty.size(); file++) {
+			pathsOrdered[ranges.size() + file] = pathsEmpty.get(file);
+		}
+		return pathsOrdered;
+	}
+
+	private static final ArrayBarSeries readTimes(
+			final FileChannel channel,
+			final long position)
+			throws IOException {
+
+		final ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(WINDOW_SIZE, channel.size() - position));
+		while (buffer.hasRemaining() && channel.read(buffer, position + buffer.position()) >= 0) {
+			// positional reads until the window is full
+		}
+		final byte[] bytes = buffer.array();
+		final int limit = buffer.position();
+
+		// complete lines of the window only, the header of the file or a partial first line are skipped
+		final int end = position + limit == channel.size() ? limit : BarChunkParser.lastLineEnd(bytes, limit);
+		int begin = 0;
+		if (position == 0) {
+			begin = BarChunkParser.skipHeader(bytes, end);
+		} else {
+			while (begin < end && bytes[begin] != 10) { // '\n' is 10 in ASCII
+				begin++;
+			}
+			begin++;
+		}
+		final ArrayBarSeries series = new ArrayBarSeries(COLUMNS_TIME, 16);
+		if (begin < end) {
+			BarChunkParser.parse(bytes, begin, end, series);
+		}
+		return series;
+	}
+
+	static final Path pathShard(
+			final Path directory,
+			final Path path,
+			final long positionBegin,
+			final long positionEnd) {
+
+		return directory.resolve(path.getFileName() + "." + positionBegin + "-" + positionEnd + ".shard");
+	}
+
+	private static final void run(
+			final ArrayDeque<Shard> shardsPending,
+			final Set<Column> columns,
+			final int workers)
+			throws IOException {
+
+		final LinkedBlockingQueue<Shard> shardsExited = new LinkedBlockingQueue<>();
+		final ArrayList<Shard> shardsRunning = new ArrayList<>(workers);
+		try {
+			while (!shardsPending.isEmpty() || !shardsRunning.isEmpty()) {
+				while (shardsRunning.size() < workers && !shardsPending.isEmpty()) {
+					final Shard shard = shardsPending.poll();
+					shard.attempts++;
+					Files.deleteIfExists(shard.pathShard);
+					shard.process = start(shard, columns);
+					shard.process.onExit().thenRun(() -> shardsExited.add(shard));
+					shardsRunning.add(shard);
+				}
+
+				final Shard shard = shardsExited.take();
+				shardsRunning.remove(shard);
+				final int exitValue = shard.process.exitValue();
+				if (exitValue == 0 && MappedBarSeries.isComplete(shard.pathShard, shard.positionBegin, shard.positionEnd, columns, shard.path)) {
+					continue;
+				}
+
+				// a crashed worker, e.g. killed by the OOM killer, is restarted from the beginning of its shard
+				if (shard.attempts >= ATTEMPTS_MAX) {
+					throw new IOException("worker of shard " + shard + " failed " + shard.attempts + " times, last exit value " + exitValue);
+				}
+				LOGGER.warning("worker of shard " + shard + " failed with exit value " + exitValue + ", restarting it");
+				shardsPending.add(shard);
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		} finally {
+			for (final Shard shard : shardsRunning) {
+				shard.process.destroyForcibly();
+			}
+		}
+	}
+
+	private static final Process start(
+			final Shard shard,
+			final Set<Column> columns)
+			throws IOException {
+
+		final StringJoiner joiner = new StringJoiner(",");
+		for (final Column column : columns) {
+			joiner.add(column.name());
+		}
+
+		final List<String> command = List.of(
+				Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+				WORKER_HEAP,
+				"-cp",
+				System.getProperty("java.class.path"),
+				ShardWorker.class.getName(),
+				shard.path.toString(),
+				Long.toString(shard.positionBegin),
+				Long.toString(shard.positionEnd),
+				shard.pathShard.toString(),
+				joiner.toString());
+		return new ProcessBuilder(command).inheritIO().start();
+	}
+
+}
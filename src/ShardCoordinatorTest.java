@@ -0,0 +1,187 @@
+package com.kamilsarelo.csv;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ShardCoordinatorTest {
+
+	// fields //////////////////////////////////////////////////////////////////////////////////////
+
+	private Path directory;
+
+	// set up and tear down methods ////////////////////////////////////////////////////////////////
+
+	@Before
+	public final void setUp() throws Exception {
+		directory = Files.createTempDirectory("shards");
+	}
+
+	@After
+	public final void tearDown() throws Exception {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	// helper methods //////////////////////////////////////////////////////////////////////////////
+
+	private static final void assertSeries(
+			final BarSeries expected,
+			final BarSeries actual) {
+
+		assertEquals(expected.size(), actual.size());
+		assertEquals(expected.columns(), actual.columns());
+		for (int index = 0; index < expected.size(); index++) {
+			final Bar barExpected = expected.bar(index);
+			final Bar barActual = actual.bar(index);
+			assertEquals(barExpected.time, barActual.time);
+			assertEquals(barExpected.open, barActual.open, 0); // NaN for columns that are not part of the projection
+			assertEquals(barExpected.high, barActual.high, 0);
+			assertEquals(barExpected.low, barActual.low, 0);
+			assertEquals(barExpected.close, barActual.close, 0);
+			assertEquals(barExpected.volume, barActual.volume, 0);
+		}
+	}
+
+	// test methods ////////////////////////////////////////////////////////////////////////////////
+
+	@Test
+	public final void testLoad() throws Exception {
+		assertSeries(
+				BarChunkParser.read(Constants.PATHS[0], Column.ALL),
+				ShardCoordinator.load(new Path[] { Constants.PATHS[0] }, Column.ALL, 3, 4 << 20, directory));
+
+		final Set<Column> columns = EnumSet.of(Column.TIME, Column.CLOSE);
+		assertSeries(
+				BarChunkParser.read(Constants.PATHS[0], columns),
+				ShardCoordinator.load(new Path[] { Constants.PATHS[0] }, columns, 2, 7 << 20, directory));
+	}
+
+	@Test
+	public final void testReuseCompleteShards() throws Exception {
+		final Path[] paths = new Path[] { Constants.PATHS[0] };
+		ShardCoordinator.load(paths, Column.ALL, 2, 8 << 20, directory);
+
+		// an incomplete shard, as left behind by a crashed worker, is written again, complete ones are kept
+		final Path[] shards;
+		try (Stream<Path> stream = Files.list(directory)) {
+			shards = stream.sorted().toArray(Path[]::new);
+		}
+		final FileTime[] times = new FileTime[shards.length];
+		for (int shard = 0; shard < shards.length; shard++) {
+			times[shard] = Files.getLastModifiedTime(shards[shard]);
+		}
+		Files.write(shards[0], new byte[] { 1, 2, 3 });
+
+		assertSeries(
+				BarChunkParser.read(Constants.PATHS[0], Column.ALL),
+				ShardCoordinator.load(paths, Column.ALL, 2, 8 << 20, directory));
+		assertTrue(Files.size(shards[0]) > MappedBarSeries.HEADER_SIZE);
+		for (int shard = 1; shard < shards.length; shard++) {
+			assertEquals(times[shard], Files.getLastModifiedTime(shards[shard]));
+		}
+	}
+
+	@Test
+	public final void testRestartKilledWorker() throws Exception {
+		// kill the first worker that shows up, its shard has to be restarted
+		final AtomicBoolean killed = new AtomicBoolean();
+		final Thread killer = new Thread(() -> {
+			while (!killed.get()) {
+				killed.set(ProcessHandle.current().children()
+						.filter(child -> child.info().commandLine().orElse("").contains(ShardWorker.class.getName())) // not the spawn helper
+						.findFirst()
+						.map(ProcessHandle::destroyForcibly)
+						.orElse(false));
+				try {
+					Thread.sleep(5);
+				} catch (final InterruptedException e) {
+					return;
+				}
+			}
+		});
+		killer.start();
+		try {
+			// small shards, so workers keep starting until one of them is killed
+			assertSeries(
+					BarChunkParser.read(Constants.PATHS[0], Column.ALL),
+					ShardCoordinator.load(new Path[] { Constants.PATHS[0] }, Column.ALL, 2, 1 << 20, directory));
+		} finally {
+			killer.interrupt();
+			killer.join();
+		}
+		assertTrue(killed.get());
+	}
+
+	@Test
+	public final void testLoadFiles() throws Exception {
+		// two halves of a file, in any order, are stitched like the whole file
+		final List<String> lines = Files.readAllLines(Constants.PATHS[0]);
+		final Path pathFirst = directory.resolve("first.csv");
+		final Path pathSecond = directory.resolve("second.csv");
+		Files.write(pathFirst, lines.subList(0, lines.size() / 2));
+		final ArrayList<String> linesSecond = new ArrayList<>(lines.subList(lines.size() / 2, lines.size()));
+		linesSecond.add(0, lines.get(0)); // column headers
+		Files.write(pathSecond, linesSecond);
+
+		final Path directoryShards = Files.createDirectory(directory.resolve("shards"));
+		assertSeries(
+				BarChunkParser.read(Constants.PATHS[0], Column.ALL),
+				ShardCoordinator.load(new Path[] { pathSecond, pathFirst }, Column.ALL, 2, 4 << 20, directoryShards));
+
+		// without TIME the files are still ordered by the times in them
+		final Set<Column> columns = EnumSet.of(Column.CLOSE);
+		assertSeries(
+				BarChunkParser.read(Constants.PATHS[0], columns),
+				ShardCoordinator.load(new Path[] { pathSecond, pathFirst }, columns, 2, 4 << 20, directoryShards));
+	}
+
+	@Test
+	public final void testOverlappingFiles() throws Exception {
+		// bid and ask bars of the same year interleave, which is found before any worker runs, also without TIME
+		for (final Set<Column> columns : List.of(Column.ALL, EnumSet.of(Column.CLOSE))) {
+			try {
+				ShardCoordinator.load(new Path[] { Constants.PATHS[0], Constants.PATHS[1] }, columns, 2, 4 << 20, directory);
+				fail("overlapping files loaded with " + columns);
+			} catch (final IllegalArgumentException e) {
+				assertTrue(e.getMessage().contains("BarMerger"));
+			}
+		}
+		try (Stream<Path> paths = Files.list(directory)) {
+			assertEquals(0, paths.count());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public final void testNoWorkers() throws Exception {
+		ShardCoordinator.load(new Path[] { Constants.PATHS[0] }, Column.ALL, 0, 4 << 20, directory);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public final void testNoShardSize() throws Exception {
+		ShardCoordinator.load(new Path[] { Constants.PATHS[0] }, Column.ALL, 2, 0, directory);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public final void testOverlappingShards() throws Exception {
+		// the very same bars twice cannot be stitched without copying
+		final ArrayBarSeries series = BarChunkParser.read(Constants.PATHS[0], Column.ALL);
+		new ShardedBarSeries(Column.ALL, Arrays.asList(series, series));
+	}
+
+}
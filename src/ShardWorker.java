@@ -0,0 +1,117 @@
+package com.kamilsarelo.csv;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.Set;
+
+public class ShardWorker {
+
+	// constructors ////////////////////////////////////////////////////////////////////////////////
+
+	private ShardWorker() {}
+
+	// main method /////////////////////////////////////////////////////////////////////////////////
+
+	public static final void main(
+			final String[] args) {
+
+		// arguments: CSV-file, position begin, position end, shard file, columns as names separated by ','
+		try {
+			final EnumSet<Column> columns = EnumSet.noneOf(Column.class);
+			for (final String column : args[4].split(",")) {
+				if (!column.isEmpty()) {
+					columns.add(Column.valueOf(column));
+				}
+			}
+			write(Path.of(args[0]), Long.parseLong(args[1]), Long.parseLong(args[2]), Path.of(args[3]), columns);
+		} catch (final Throwable t) {
+			t.printStackTrace();
+			System.exit(1); // the coordinator retries the shard
+		}
+	}
+
+	// writing methods /////////////////////////////////////////////////////////////////////////////
+
+	static final void write(
+			final Path path,
+			final long positionBegin,
+			final long positionEnd,
+			final Path pathShard,
+			final Set<Column> columns)
+			throws IOException {
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+				FileChannel channelShard = FileChannel.open(pathShard,
+						StandardOpenOption.CREATE,
+						StandardOpenOption.TRUNCATE_EXISTING,
+						StandardOpenOption.READ,
+						StandardOpenOption.WRITE)) {
+
+			// upper bound of rows, the unused rest of every column stays a hole of the sparse file
+			final long capacity = (positionEnd - positionBegin) / BarChunkParser.LINE_LENGTH_MIN + 1;
+			if (capacity * Long.BYTES > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException("range of " + (positionEnd - positionBegin) + " bytes too large for one shard");
+			}
+
+			final MappedByteBuffer header = MappedBarSeries.header(channelShard, FileChannel.MapMode.READ_WRITE);
+			header.putLong(MappedBarSeries.OFFSET_MAGIC, MappedBarSeries.MAGIC);
+			header.putInt(MappedBarSeries.OFFSET_COLUMNS, MappedBarSeries.mask(columns));
+			header.putInt(MappedBarSeries.OFFSET_COMPLETE, 0);
+			header.putLong(MappedBarSeries.OFFSET_CAPACITY, capacity);
+			header.putLong(MappedBarSeries.OFFSET_SIZE, 0);
+			header.putLong(MappedBarSeries.OFFSET_POSITION_BEGIN, positionBegin);
+			header.putLong(MappedBarSeries.OFFSET_POSITION_END, positionEnd);
+
+			final MappedByteBuffer[] buffers = new MappedByteBuffer[6];
+			LongBuffer time = null;
+			final DoubleBuffer[] fields = new DoubleBuffer[6];
+			long position = MappedBarSeries.HEADER_SIZE;
+			for (final Column column : columns) {
+				final MappedByteBuffer buffer = channelShard.map(FileChannel.MapMode.READ_WRITE, position, capacity * Long.BYTES);
+				buffer.order(ByteOrder.nativeOrder());
+				buffers[column.ordinal()] = buffer;
+				if (column == Column.TIME) {
+					time = buffer.asLongBuffer();
+				} else {
+					fields[column.ordinal()] = buffer.asDoubleBuffer();
+				}
+				position += capacity * Long.BYTES;
+			}
+
+			// one buffer-sized range at a time, so the heap of the worker stays small
+			final long[] boundaries = BarChunkParser.findChunkBoundaries(channel, positionBegin, positionEnd, BarChunkParser.BUFFER_SIZE);
+			long size = 0;
+			for (int chunk = 0; chunk < boundaries.length - 1; chunk++) {
+				final ArrayBarSeries series = BarChunkParser.read(channel, boundaries[chunk], boundaries[chunk + 1], columns);
+				if (time != null) {
+					time.put(series.time, 0, series.size);
+				}
+				for (int field = 1; field < fields.length; field++) {
+					if (fields[field] != null) {
+						fields[field].put(series.fields[field], 0, series.size);
+					}
+				}
+				size += series.size;
+			}
+
+			// rows and size are durable before the complete flag, so a crash never leaves a complete but partial shard
+			for (final MappedByteBuffer buffer : buffers) {
+				if (buffer != null) {
+					buffer.force();
+				}
+			}
+			header.putLong(MappedBarSeries.OFFSET_SIZE, size);
+			header.force();
+			header.putInt(MappedBarSeries.OFFSET_COMPLETE, 1);
+			header.force();
+		}
+	}
+
+}
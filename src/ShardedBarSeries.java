@@ -0,0 +1,140 @@
+package com.kamilsarelo.csv;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+public class ShardedBarSeries implements BarSeries {
+
+	// fields //////////////////////////////////////////////////////////////////////////////////////
+
+	private final Set<Column> columns;
+	private final BarSeries[] shards;
+	private final int[] offsets; // index of the first row of every shard
+	private final int size;
+
+	// constructors ////////////////////////////////////////////////////////////////////////////////
+
+	public ShardedBarSeries(
+			final Set<Column> columns,
+			final List<? extends BarSeries> shards) {
+
+		this.columns = columns;
+
+		// empty shards have no time to order by and nothing to access
+		final ArrayList<BarSeries> shardsSorted = new ArrayList<>(shards.size());
+		for (final BarSeries shard : shards) {
+			if (!shard.columns().equals(columns)) {
+				throw new IllegalArgumentException("columns " + shard.columns() + " differ from " + columns);
+			}
+			if (shard.size() > 0) {
+				shardsSorted.add(shard);
+			}
+		}
+
+		// shards are views, not copies, so their times may touch but must not interleave, without TIME they keep the given order
+		if (columns.contains(Column.TIME)) {
+			shardsSorted.sort(Comparator.comparingLong(shard -> shard.time(0)));
+			for (int shard = 1; shard < shardsSorted.size(); shard++) {
+				final BarSeries previous = shardsSorted.get(shard - 1);
+				if (previous.time(previous.size() - 1) > shardsSorted.get(shard).time(0)) {
+					throw new IllegalArgumentException("shards " + (shard - 1) + " and " + shard + " overlap in time, merge them with BarMerger instead");
+				}
+			}
+		}
+
+		this.shards = shardsSorted.toArray(new BarSeries[0]);
+		offsets = new int[this.shards.length];
+		long size = 0;
+		for (int shard = 0; shard < this.shards.length; shard++) {
+			offsets[shard] = (int) size;
+			size += this.shards[shard].size();
+		}
+		this.size = Math.toIntExact(size);
+	}
+
+	// methods /////////////////////////////////////////////////////////////////////////////////////
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public Set<Column> columns() {
+		return columns;
+	}
+
+	@Override
+	public long time(
+			final int index) {
+
+		final int shard = shard(index);
+		return shards[shard].time(index - offsets[shard]);
+	}
+
+	@Override
+	public double open(
+			final int index) {
+
+		final int shard = shard(index);
+		return shards[shard].open(index - offsets[shard]);
+	}
+
+	@Override
+	public double high(
+			final int index) {
+
+		final int shard = shard(index);
+		return shards[shard].high(index - offsets[shard]);
+	}
+
+	@Override
+	public double low(
+			final int index) {
+
+		final int shard = shard(index);
+		return shards[shard].low(index - offsets[shard]);
+	}
+
+	@Override
+	public double close(
+			final int index) {
+
+		final int shard = shard(index);
+		return shards[shard].close(index - offsets[shard]);
+	}
+
+	@Override
+	public double volume(
+			final int index) {
+
+		final int shard = shard(index);
+		return shards[shard].volume(index - offsets[shard]);
+	}
+
+	// helper methods //////////////////////////////////////////////////////////////////////////////
+
+	private final int shard(
+			final int index) {
+
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("index " + index + " out of bounds for size " + size);
+		}
+
+		// last shard whose first row is at or before the index
+		int low = 0;
+		int high = offsets.length - 1;
+		while (low < high) {
+			final int middle = (low + high + 1) >>> 1;
+			if (offsets[middle] <= index) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return low;
+	}
+
+}
@@ -0,0 +1,272 @@
+package com.kamilsarelo.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+public class SpillingBarSeries implements BarSeries, Closeable {
+
+	// types ///////////////////////////////////////////////////////////////////////////////////////
+
+	private static final class Chunk {
+
+		// heap arrays until the chunk is spilled, mapped views of the spill file afterwards
+		long[] time;
+		final double[][] fields = new double[6][]; // fields[1] to fields[5] are open, high, low, close, and volume
+		LongBuffer timeMapped;
+		final DoubleBuffer[] fieldsMapped = new DoubleBuffer[6];
+		boolean spilled;
+
+	}
+
+	// constants ///////////////////////////////////////////////////////////////////////////////////
+
+	public static final int CHUNK_SHIFT = 16;
+	public static final int CHUNK_SIZE = 1 << CHUNK_SHIFT; // rows per chunk
+
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+	// fields //////////////////////////////////////////////////////////////////////////////////////
+
+	private final Set<Column> columns;
+	private final long memoryBudget;
+	private final long chunkBytes;
+
+	private final ArrayList<Chunk> chunks = new ArrayList<>();
+	private int chunksSpilled; // chunks are spilled oldest first, so these are the first ones
+	private int size;
+
+	private FileChannel channel;
+	private long spilledBytes;
+	private long spillNanos;
+
+	// constructors ////////////////////////////////////////////////////////////////////////////////
+
+	public SpillingBarSeries(
+			final Set<Column> columns,
+			final long memoryBudget) {
+
+		final EnumSet<Column> copy = EnumSet.noneOf(Column.class);
+		copy.addAll(columns);
+		this.columns = Collections.unmodifiableSet(copy);
+		this.memoryBudget = memoryBudget;
+		chunkBytes = (long) CHUNK_SIZE * Long.BYTES * copy.size();
+	}
+
+	// methods /////////////////////////////////////////////////////////////////////////////////////
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public Set<Column> columns() {
+		return columns;
+	}
+
+	@Override
+	public long time(
+			final int index) {
+
+		final Chunk chunk = chunks.get(index >>> CHUNK_SHIFT);
+		return chunk.spilled ? chunk.timeMapped.get(index & CHUNK_MASK) : chunk.time[index & CHUNK_MASK];
+	}
+
+	@Override
+	public double open(
+			final int index) {
+
+		return field(1, index);
+	}
+
+	@Override
+	public double high(
+			final int index) {
+
+		return field(2, index);
+	}
+
+	@Override
+	public double low(
+			final int index) {
+
+		return field(3, index);
+	}
+
+	@Override
+	public double close(
+			final int index) {
+
+		return field(4, index);
+	}
+
+	@Override
+	public double volume(
+			final int index) {
+
+		return field(5, index);
+	}
+
+	public final void add(
+			final Bar bar)
+			throws IOException {
+
+		final Chunk chunk = chunkForAdd();
+		final int offset = size & CHUNK_MASK;
+		if (chunk.time != null) {
+			chunk.time[offset] = bar.time;
+		}
+		set(chunk, 1, offset, bar.open);
+		set(chunk, 2, offset, bar.high);
+		set(chunk, 3, offset, bar.low);
+		set(chunk, 4, offset, bar.close);
+		set(chunk, 5, offset, bar.volume);
+		size++;
+	}
+
+	public final void add(
+			final ArrayBarSeries series)
+			throws IOException {
+
+		if (!columns.equals(series.columns())) {
+			throw new IllegalArgumentException("columns " + series.columns() + " differ from " + columns);
+		}
+
+		// copy column by column up to the end of the current chunk, then continue in the next one
+		int index = 0;
+		while (index < series.size) {
+			final Chunk chunk = chunkForAdd();
+			final int offset = size & CHUNK_MASK;
+			final int length = Math.min(series.size - index, CHUNK_SIZE - offset);
+			if (chunk.time != null) {
+				System.arraycopy(series.time, index, chunk.time, offset, length);
+			}
+			for (int field = 1; field < chunk.fields.length; field++) {
+				if (chunk.fields[field] != null) {
+					System.arraycopy(series.fields[field], index, chunk.fields[field], offset, length);
+				}
+			}
+			index += length;
+			size += length;
+		}
+	}
+
+	public final long spilledBytes() {
+		return spilledBytes;
+	}
+
+	public final long spillNanos() {
+		return spillNanos;
+	}
+
+	@Override
+	public void close() throws IOException {
+		// the spill file is deleted on close, its mapped views must not be accessed anymore
+		chunks.clear();
+		chunksSpilled = 0;
+		size = 0;
+		if (channel != null) {
+			channel.close();
+			channel = null;
+		}
+	}
+
+	// helper methods //////////////////////////////////////////////////////////////////////////////
+
+	private final double field(
+			final int field,
+			final int index) {
+
+		final Chunk chunk = chunks.get(index >>> CHUNK_SHIFT);
+		return chunk.spilled ? chunk.fieldsMapped[field].get(index & CHUNK_MASK) : chunk.fields[field][index & CHUNK_MASK];
+	}
+
+	private final void set(
+			final Chunk chunk,
+			final int field,
+			final int offset,
+			final double value) {
+
+		if (chunk.fields[field] != null) {
+			chunk.fields[field][offset] = value;
+		}
+	}
+
+	private final Chunk chunkForAdd() throws IOException {
+		if ((size & CHUNK_MASK) != 0) {
+			return chunks.get(chunks.size() - 1);
+		}
+
+		// the last chunk is complete, spill the oldest ones on the heap while the budget is exceeded
+		while (chunksSpilled < chunks.size() && (chunks.size() + 1 - chunksSpilled) * chunkBytes > memoryBudget) {
+			spill(chunks.get(chunksSpilled++));
+		}
+
+		final Chunk chunk = new Chunk();
+		for (final Column column : columns) {
+			if (column == Column.TIME) {
+				chunk.time = new long[CHUNK_SIZE];
+			} else {
+				chunk.fields[column.ordinal()] = new double[CHUNK_SIZE];
+			}
+		}
+		chunks.add(chunk);
+		return chunk;
+	}
+
+	private final void spill(
+			final Chunk chunk)
+			throws IOException {
+
+		final long timeBegin = System.nanoTime();
+		if (channel == null) {
+			channel = FileChannel.open(Files.createTempFile("bars", ".spill"),
+					StandardOpenOption.READ,
+					StandardOpenOption.WRITE,
+					StandardOpenOption.DELETE_ON_CLOSE);
+		}
+
+		// one mapped region per chunk, column after column, growing the file at its end
+		final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, spilledBytes, chunkBytes);
+		int position = 0;
+		if (chunk.time != null) {
+			chunk.timeMapped = slice(buffer, position).asLongBuffer().put(chunk.time);
+			position += CHUNK_SIZE * Long.BYTES;
+		}
+		for (int field = 1; field < chunk.fields.length; field++) {
+			if (chunk.fields[field] != null) {
+				chunk.fieldsMapped[field] = slice(buffer, position).asDoubleBuffer().put(chunk.fields[field]);
+				position += CHUNK_SIZE * Double.BYTES;
+			}
+		}
+
+		// the views are complete before the heap arrays are released
+		chunk.spilled = true;
+		chunk.time = null;
+		for (int field = 1; field < chunk.fields.length; field++) {
+			chunk.fields[field] = null;
+		}
+		spilledBytes += chunkBytes;
+		spillNanos += System.nanoTime() - timeBegin;
+	}
+
+	private static final ByteBuffer slice(
+			final MappedByteBuffer buffer,
+			final int position) {
+
+		return buffer.slice(position, CHUNK_SIZE * Long.BYTES).order(ByteOrder.nativeOrder());
+	}
+
+}
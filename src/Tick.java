@@ -0,0 +1,72 @@
+package com.kamilsarelo.csv;
+
+public class Tick {
+
+	// fields //////////////////////////////////////////////////////////////////////////////////////
+
+	public final long time; // microseconds since epoch
+	public final double bid;
+	public final double ask;
+	public final double bidVolume;
+	public final double askVolume;
+
+	// constructors ////////////////////////////////////////////////////////////////////////////////
+
+	public Tick(
+			final long time,
+			final double bid,
+			final double ask,
+			final double bidVolume,
+			final double askVolume) {
+
+		this.time = time;
+		this.bid = bid;
+		this.ask = ask;
+		this.bidVolume = bidVolume;
+		this.askVolume = askVolume;
+	}
+
+	// methods /////////////////////////////////////////////////////////////////////////////////////
+
+	@Override
+	public boolean equals(
+			final Object obj) {
+
+		if (this == obj) {
+			return true;
+		}
+
+		if (!(obj instanceof Tick)) {
+			return false;
+		}
+
+		final Tick other = (Tick) obj;
+		return time == other.time
+				&& bid == other.bid
+				&& ask == other.ask
+				&& bidVolume == other.bidVolume
+				&& askVolume == other.askVolume;
+	}
+
+	@Override
+	public int hashCode() {
+		int result = 17;
+
+		result = 31 * result + (int) (time ^ time >>> 32);
+
+		final long bidLong = Double.doubleToLongBits(bid);
+		result = 31 * result + (int) (bidLong ^ bidLong >>> 32);
+
+		final long askLong = Double.doubleToLongBits(ask);
+		result = 31 * result + (int) (askLong ^ askLong >>> 32);
+
+		final long bidVolumeLong = Double.doubleToLongBits(bidVolume);
+		result = 31 * result + (int) (bidVolumeLong ^ bidVolumeLong >>> 32);
+
+		final long askVolumeLong = Double.doubleToLongBits(askVolume);
+		result = 31 * result + (int) (askVolumeLong ^ askVolumeLong >>> 32);
+
+		return result;
+	}
+
+}
@@ -0,0 +1,157 @@
+package com.kamilsarelo.csv;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class TickParser {
+
+	// constants ///////////////////////////////////////////////////////////////////////////////////
+
+	private static final int BUFFER_SIZE = 1 << 20;
+
+	// scales a fraction of a second with 0 to 6 digits to microseconds
+	private static final long[] MICROS_PER_FRACTION_DIGITS = new long[] { 0, 100_000, 10_000, 1_000, 100, 10, 1 };
+
+	// constructors ////////////////////////////////////////////////////////////////////////////////
+
+	private TickParser() {}
+
+	// reading methods /////////////////////////////////////////////////////////////////////////////
+
+	public static final TickSeries read(
+			final Path path)
+			throws IOException {
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			// the shortest tick line is 40 bytes, so this capacity usually fits without growing
+			final TickSeries series = new TickSeries((int) Math.min(Integer.MAX_VALUE - 8, Math.max(16, channel.size() / 40)));
+			final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+			final byte[] bytes = buffer.array();
+
+			boolean header = true;
+			boolean eof = false;
+			while (!eof) {
+				eof = channel.read(buffer) < 0;
+				final int limit = buffer.position();
+
+				// parse complete lines only, the remainder is moved to the front of the buffer
+				int end = limit;
+				if (!eof) {
+					while (end > 0 && bytes[end - 1] != 10) { // '\n' is 10 in ASCII
+						end--;
+					}
+					if (end == 0) {
+						if (limit == bytes.length) {
+							throw new IOException("line longer than " + bytes.length + " bytes in " + path);
+						}
+						continue;
+					}
+				}
+
+				int begin = 0;
+				if (header) {
+					header = false;
+					if (limit > 0 && (bytes[0] < 48 || bytes[0] > 57)) { // skip first line with column headers
+						while (begin < end && bytes[begin] != 10) {
+							begin++;
+						}
+						begin++;
+					}
+				}
+				parse(bytes, begin, end, series);
+
+				System.arraycopy(bytes, end, bytes, 0, limit - end);
+				buffer.position(limit - end);
+			}
+			return series;
+		}
+	}
+
+	// parsing methods /////////////////////////////////////////////////////////////////////////////
+
+	public static final void parse(
+			final byte[] bytes,
+			final int indexBegin,
+			final int indexEnd,
+			final TickSeries series) {
+
+		int index = indexBegin;
+		while (index < indexEnd) {
+			if (bytes[index] == 10 || bytes[index] == 13) { // skip blank lines and '\r'
+				index++;
+				continue;
+			}
+			index = parseLine(bytes, index, indexEnd, series);
+		}
+	}
+
+	private static final int parseLine(
+			final byte[] bytes,
+			final int indexBegin,
+			final int indexEnd,
+			final TickSeries series) {
+
+		final int row = series.add();
+
+		// date and time have always the same length and position, only the fraction of a second varies
+		final long millis = CsvReadParsePerformance.toMillisSinceEpoch2(
+				parseBytesToInteger(bytes, indexBegin, indexBegin + 4), // year
+				parseBytesToInteger(bytes, indexBegin + 5, indexBegin + 7), // month
+				parseBytesToInteger(bytes, indexBegin + 8, indexBegin + 10), // date
+				parseBytesToInteger(bytes, indexBegin + 11, indexBegin + 13), // hours
+				parseBytesToInteger(bytes, indexBegin + 14, indexBegin + 16), // minutes
+				parseBytesToInteger(bytes, indexBegin + 17, indexBegin + 19)); // seconds
+
+		int index = indexBegin + 19;
+		long fraction = 0;
+		if (bytes[index] == 46) { // '.' is 46 in ASCII
+			final int indexFraction = ++index;
+			while (bytes[index] != 44) { // ',' is 44 in ASCII
+				if (index - indexFraction < 6) { // digits below a microsecond, e.g. of 100 ns ticks, are truncated
+					fraction = (fraction << 1) + (fraction << 3) + bytes[index] - 48; // numbers start at 48 in ASCII
+				}
+				index++;
+			}
+			fraction *= MICROS_PER_FRACTION_DIGITS[Math.min(6, index - indexFraction)];
+		}
+		series.time[row] = millis * 1000 + fraction; // microseconds since epoch
+		index++; // skip ','
+
+		for (int field = 0; field < series.fields.length; field++) {
+			long dividend = 0;
+			int indexOfDelimeter = -1;
+			for (; index < indexEnd; index++) {
+				final byte character = bytes[index];
+				if (character == 44 || character == 10 || character == 13) { // ',', '\n', and '\r' in ASCII
+					break;
+				}
+				if (character == 46) { // '.' is 46 in ASCII
+					indexOfDelimeter = index;
+					continue;
+				}
+				dividend = (dividend << 1) + (dividend << 3) + (character - 48); // numbers start at 48 in ASCII
+			}
+			series.fields[field][row] = indexOfDelimeter < 0
+					? dividend
+					: dividend / CsvReadParsePerformance.powerOfTen(index - indexOfDelimeter - 1);
+			index++; // skip ',' or '\n'
+		}
+		return index;
+	}
+
+	private static final int parseBytesToInteger(
+			final byte[] bytes,
+			final int indexBegin,
+			final int indexEnd) {
+
+		int number = 0;
+		for (int index = indexBegin; index < indexEnd; index++) {
+			number = (number << 1) + (number << 3) + bytes[index] - 48; // numbers start at 48 in ASCII
+		}
+		return number;
+	}
+
+}
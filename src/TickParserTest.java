@@ -0,0 +1,92 @@
+package com.kamilsarelo.csv;
+
+import static org.junit.Assert.assertEquals;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+public class TickParserTest {
+
+	// helper methods //////////////////////////////////////////////////////////////////////////////
+
+	private static final void assertRead(
+			final int fractionDigits,
+			final String lineSeparator)
+			throws Exception {
+
+		final Random random = new Random(fractionDigits);
+		final ArrayList<String> lines = new ArrayList<>();
+		final ArrayList<Tick> ticksExpected = new ArrayList<>();
+		lines.add("Gmt time,Bid,Ask,BidVolume,AskVolume");
+
+		LocalDateTime time = LocalDateTime.of(2019, 2, 27, 23, 59, 58);
+		for (int index = 0; index < 100_000; index++) {
+			time = time.plus(random.nextInt(5_000_000), ChronoUnit.MICROS);
+			final long micros = ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), time);
+			final String fractionMicros = String.format("%06d", time.getNano() / 1000);
+			final String fraction = (fractionDigits > 6 ? fractionMicros + String.format("%03d", random.nextInt(1000)) : fractionMicros).substring(0, fractionDigits);
+			final int fractionDigitsMicros = Math.min(6, fractionDigits); // finer digits are truncated
+			final long microsTruncated = micros - micros % 1_000_000 + (fractionDigits == 0 ? 0 : Long.parseLong(fraction.substring(0, fractionDigitsMicros)) * (long) Math.pow(10, 6 - fractionDigitsMicros));
+
+			final String bid = "1." + random.nextInt(100_000);
+			final String ask = "1." + random.nextInt(100_000);
+			final String bidVolume = Integer.toString(random.nextInt(10));
+			final String askVolume = random.nextInt(10) + "." + random.nextInt(100);
+			lines.add(String.format("%04d.%02d.%02d %02d:%02d:%02d%s,%s,%s,%s,%s",
+					time.getYear(), time.getMonthValue(), time.getDayOfMonth(),
+					time.getHour(), time.getMinute(), time.getSecond(),
+					fractionDigits == 0 ? "" : "." + fraction,
+					bid, ask, bidVolume, askVolume));
+			ticksExpected.add(new Tick(
+					microsTruncated,
+					Double.parseDouble(bid),
+					Double.parseDouble(ask),
+					Double.parseDouble(bidVolume),
+					Double.parseDouble(askVolume)));
+		}
+
+		final Path path = Files.createTempFile("ticks", ".csv");
+		try {
+			Files.writeString(path, String.join(lineSeparator, lines) + lineSeparator);
+			final TickSeries series = TickParser.read(path);
+			assertEquals(ticksExpected.size(), series.size());
+			for (int index = 0; index < ticksExpected.size(); index++) {
+				assertEquals(ticksExpected.get(index), series.tick(index));
+			}
+		} finally {
+			Files.delete(path);
+		}
+
+		assertEquals(time.toInstant(ZoneOffset.UTC).getEpochSecond(), ticksExpected.get(ticksExpected.size() - 1).time / 1_000_000);
+	}
+
+	// test methods ////////////////////////////////////////////////////////////////////////////////
+
+	@Test
+	public final void testReadMillis() throws Exception {
+		assertRead(3, "\n");
+	}
+
+	@Test
+	public final void testReadMicros() throws Exception {
+		assertRead(6, "\n");
+	}
+
+	@Test
+	public final void testReadNanos() throws Exception {
+		assertRead(7, "\n");
+		assertRead(9, "\r\n");
+	}
+
+	@Test
+	public final void testReadSeconds() throws Exception {
+		assertRead(0, "\r\n");
+	}
+
+}
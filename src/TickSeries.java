@@ -0,0 +1,79 @@
+package com.kamilsarelo.csv;
+
+import java.util.Arrays;
+
+public class TickSeries {
+
+	// fields //////////////////////////////////////////////////////////////////////////////////////
+
+	long[] time; // microseconds since epoch
+	final double[][] fields = new double[4][]; // bid, ask, bid volume, and ask volume
+	int size;
+
+	// constructors ////////////////////////////////////////////////////////////////////////////////
+
+	public TickSeries(
+			final int capacity) {
+
+		time = new long[capacity];
+		for (int field = 0; field < fields.length; field++) {
+			fields[field] = new double[capacity];
+		}
+	}
+
+	// methods /////////////////////////////////////////////////////////////////////////////////////
+
+	public final int size() {
+		return size;
+	}
+
+	public final long time(
+			final int index) {
+
+		return time[index];
+	}
+
+	public final double bid(
+			final int index) {
+
+		return fields[0][index];
+	}
+
+	public final double ask(
+			final int index) {
+
+		return fields[1][index];
+	}
+
+	public final double bidVolume(
+			final int index) {
+
+		return fields[2][index];
+	}
+
+	public final double askVolume(
+			final int index) {
+
+		return fields[3][index];
+	}
+
+	public final Tick tick(
+			final int index) {
+
+		return new Tick(time[index], fields[0][index], fields[1][index], fields[2][index], fields[3][index]);
+	}
+
+	// helper methods //////////////////////////////////////////////////////////////////////////////
+
+	final int add() {
+		if (size == time.length) {
+			final int capacity = Math.max(16, size + (size >> 1));
+			time = Arrays.copyOf(time, capacity);
+			for (int field = 0; field < fields.length; field++) {
+				fields[field] = Arrays.copyOf(fields[field], capacity);
+			}
+		}
+		return size++;
+	}
+
+}